@@ -0,0 +1,132 @@
+package edu.frau.service.Service.Management.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ✅ One pooled HTTP client for ALL outbound integrations
+ * (Group-1 projects/employees, Group-2 contracts, Group-3 decisions, provider offers).
+ * - keep-alive connection pool with a global and a per-host limit
+ * - connect / read / pool-wait timeouts so a hung upstream can't block a Tomcat thread forever
+ * - per-host latency comes from the actuator "http.client.requests" metric (RestTemplateBuilder)
+ * - per-host pool usage is published as "outbound.http.pool.*" gauges
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http.client.maxTotal:100}")
+    private int maxTotal;
+
+    @Value("${http.client.maxPerHost:20}")
+    private int maxPerHost;
+
+    @Value("${http.client.connectTimeoutMillis:3000}")
+    private long connectTimeoutMillis;
+
+    @Value("${http.client.readTimeoutMillis:10000}")
+    private long readTimeoutMillis;
+
+    @Value("${http.client.poolWaitMillis:2000}")
+    private long poolWaitMillis;
+
+    // upstream base URLs that get their own limit + pool gauges
+    @Value("${http.client.hosts:}")
+    private List<String> hosts;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager outboundConnectionManager() {
+        PoolingHttpClientConnectionManager cm = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerHost)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        knownRoutes().values().forEach(route -> cm.setMaxPerRoute(route, maxPerHost));
+        return cm;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(PoolingHttpClientConnectionManager outboundConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(outboundConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolWaitMillis))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, CloseableHttpClient outboundHttpClient) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(outboundHttpClient))
+                .build();
+    }
+
+    @Bean
+    public MeterBinder outboundHttpPoolMetrics(PoolingHttpClientConnectionManager outboundConnectionManager) {
+        return registry -> {
+            Gauge.builder("outbound.http.pool.leased", outboundConnectionManager, cm -> cm.getTotalStats().getLeased())
+                    .tag("host", "all").register(registry);
+            Gauge.builder("outbound.http.pool.pending", outboundConnectionManager, cm -> cm.getTotalStats().getPending())
+                    .tag("host", "all").register(registry);
+            Gauge.builder("outbound.http.pool.available", outboundConnectionManager, cm -> cm.getTotalStats().getAvailable())
+                    .tag("host", "all").register(registry);
+
+            knownRoutes().forEach((host, route) -> {
+                Gauge.builder("outbound.http.pool.leased", outboundConnectionManager, cm -> cm.getStats(route).getLeased())
+                        .tag("host", host).register(registry);
+                Gauge.builder("outbound.http.pool.pending", outboundConnectionManager, cm -> cm.getStats(route).getPending())
+                        .tag("host", host).register(registry);
+                Gauge.builder("outbound.http.pool.available", outboundConnectionManager, cm -> cm.getStats(route).getAvailable())
+                        .tag("host", host).register(registry);
+            });
+        };
+    }
+
+    // host -> pool route (routes must match what HttpClient builds: explicit port + secure flag)
+    private Map<String, HttpRoute> knownRoutes() {
+        Map<String, HttpRoute> out = new LinkedHashMap<>();
+        if (hosts == null) return out;
+
+        for (String h : hosts) {
+            if (h == null || h.isBlank()) continue;
+
+            URI uri = URI.create(h.trim());
+            String scheme = uri.getScheme() != null ? uri.getScheme() : "https";
+            boolean secure = "https".equalsIgnoreCase(scheme);
+            int port = uri.getPort() > 0 ? uri.getPort() : (secure ? 443 : 80);
+
+            HttpHost target = new HttpHost(scheme, uri.getHost(), port);
+            out.put(uri.getHost(), new HttpRoute(target, null, secure));
+        }
+        return out;
+    }
+}
@@ -1,5 +1,7 @@
 package edu.frau.service.Service.Management.controller;
 
+import edu.frau.service.Service.Management.dto.NormalizedProject;
+import edu.frau.service.Service.Management.dto.NormalizedProjectRole;
 import edu.frau.service.Service.Management.service.ExternalReferenceService;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,12 +32,12 @@ public class ExternalReferenceController {
 
     // ---- Projects (Normalized for autofill) ----
     @GetMapping("/projects/{id}/normalized")
-    public Map<String, Object> getProjectNormalized(@PathVariable String id) {
+    public NormalizedProject getProjectNormalized(@PathVariable String id) {
         return externalReferenceService.getProjectNormalized(id);
     }
 
     @GetMapping("/projects/{id}/roles")
-    public List<Map<String, Object>> getProjectRoles(@PathVariable String id) {
+    public List<NormalizedProjectRole> getProjectRoles(@PathVariable String id) {
         return externalReferenceService.getProjectRoles(id);
     }
 
@@ -54,4 +56,10 @@ public class ExternalReferenceController {
     public Map<String, Object> getContract(@PathVariable String id) {
         return externalReferenceService.getContract(id);
     }
+
+    // ---- Feed cache status (snapshot age, refresh latency, failures) ----
+    @GetMapping("/status")
+    public Map<String, Object> getFeedStatus() {
+        return externalReferenceService.getFeedStatus();
+    }
 }
@@ -5,6 +5,9 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/pm-whitelist")
 @CrossOrigin(origins = "*")
@@ -31,9 +34,22 @@ public class PmWhitelistController {
 
     // ✅ Optional: allow ADMIN to import XML manually (if your service supports it)
     // POST /api/pm-whitelist/import (Content-Type: text/plain) body=<xml>
-    @PostMapping(value = "/import", consumes = MediaType.TEXT_PLAIN_VALUE)
-    public ResponseEntity<Integer> importXml(@RequestBody String xml) {
-        int count = service.importFromXml(xml); // must return int
+    // body is streamed straight into the import (XML or JSON export), returns how many PMs were upserted
+    @PostMapping(value = "/import", consumes = {
+            MediaType.TEXT_PLAIN_VALUE,
+            MediaType.TEXT_XML_VALUE,
+            MediaType.APPLICATION_XML_VALUE,
+            MediaType.APPLICATION_JSON_VALUE
+    })
+    public ResponseEntity<Integer> importXml(InputStream body) {
+        int count = service.importWhitelist(body);
         return ResponseEntity.ok(count);
     }
+
+    // ✅ employee feed change detection (304s / unchanged hashes = avoided re-parses)
+    // GET /api/pm-whitelist/status
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> status() {
+        return ResponseEntity.ok(service.feedStatus());
+    }
 }
@@ -9,6 +9,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import edu.frau.service.Service.Management.dto.OfferEvaluationDTO;
+import edu.frau.service.Service.Management.dto.RequestPage;
+import edu.frau.service.Service.Management.dto.ServiceRequestSummary;
 import edu.frau.service.Service.Management.service.OfferEvaluationService;
 
 
@@ -19,6 +21,8 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class ServiceRequestController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final RequestService requestService;
     private final UserRepository userRepository;
 
@@ -36,9 +40,39 @@ public class ServiceRequestController {
         this.offerEvaluationService = offerEvaluationService;
     }
 
+    // GET /api/requests?status=BIDDING&status=EVALUATION&sort=biddingEndAt&direction=asc&limit=50&cursor=...
+    // without limit/cursor the whole (role-filtered) list is returned as before.
+    // next page: X-Next-Cursor response header (absent on the last page)
     @GetMapping
-    public List<ServiceRequest> getAll() {
-        return requestService.getAllRequests();
+    public ResponseEntity<List<ServiceRequest>> getAll(
+            @RequestParam(required = false) List<RequestStatus> status,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        RequestPage<ServiceRequest> page = requestService.listRequests(status, sort, direction, limit, cursor);
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.nextCursor != null) ok.header(NEXT_CURSOR_HEADER, page.nextCursor);
+        return ok.body(page.items);
+    }
+
+    // GET /api/requests/summary -> same filters / paging, lightweight rows without the list attributes
+    @GetMapping("/summary")
+    public ResponseEntity<List<ServiceRequestSummary>> getSummaries(
+            @RequestParam(required = false) List<RequestStatus> status,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor
+    ) {
+        RequestPage<ServiceRequestSummary> page =
+                requestService.listRequestSummaries(status, sort, direction, limit, cursor);
+
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+        if (page.nextCursor != null) ok.header(NEXT_CURSOR_HEADER, page.nextCursor);
+        return ok.body(page.items);
     }
 
     @PostMapping
@@ -0,0 +1,10 @@
+package edu.frau.service.Service.Management.dto;
+
+import java.util.List;
+
+// result of a bulk close-out: every request whose bidding was deactivated, and the subset without offers (EXPIRED)
+public record ClosedBiddingWindows(
+        List<Long> closedIds,
+        List<Long> expiredIds
+) {
+}
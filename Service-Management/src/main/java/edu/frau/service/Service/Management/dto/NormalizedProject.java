@@ -0,0 +1,21 @@
+package edu.frau.service.Service.Management.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ✅ Group-1 project, normalized once per feed refresh (immutable).
+ * Backs /api/external/projects/{id}/normalized, /roles and /locations.
+ */
+public record NormalizedProject(
+        String projectId,
+        String projectName,
+        String title,
+        String startDate,
+        String endDate,
+        List<String> locations,
+        List<NormalizedProjectRole> roles,
+        List<String> skills,
+        Map<String, Object> raw
+) {
+}
@@ -0,0 +1,15 @@
+package edu.frau.service.Service.Management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+// frontend expects: roleName + competencies + manDays (optional) + headcount (optional)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record NormalizedProjectRole(
+        String roleName,
+        List<String> competencies,
+        Integer manDays,
+        Integer headcount
+) {
+}
@@ -0,0 +1,9 @@
+package edu.frau.service.Service.Management.dto;
+
+// one PROJECT_MANAGER entry of the employee feed (email is stored trimmed + lower-case)
+public record PmRecord(
+        String email,
+        String firstName,
+        String lastName
+) {
+}
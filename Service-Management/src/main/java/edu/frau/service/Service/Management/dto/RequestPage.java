@@ -0,0 +1,18 @@
+package edu.frau.service.Service.Management.dto;
+
+import java.util.List;
+
+public class RequestPage<T> {
+
+    public List<T> items;
+
+    // opaque keyset cursor for the next page, null when this is the last page
+    public String nextCursor;
+
+    public RequestPage() {}
+
+    public RequestPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
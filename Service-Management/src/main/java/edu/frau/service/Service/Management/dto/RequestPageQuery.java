@@ -0,0 +1,21 @@
+package edu.frau.service.Service.Management.dto;
+
+import edu.frau.service.Service.Management.model.RequestStatus;
+
+import java.util.List;
+
+// keyset page of service requests (see ServiceRequestRepositoryCustom.findPage)
+public class RequestPageQuery {
+
+    public String requestedBy;            // null = all owners (role filter is resolved by the service)
+    public List<RequestStatus> statuses;  // null / empty = any status
+
+    public String sortField = "id";       // id | requestNumber | startDate | endDate | biddingEndAt
+    public boolean descending;
+
+    // position of the last row of the previous page (afterId == null -> first page)
+    public Object afterValue;
+    public Long afterId;
+
+    public Integer limit;                 // null = no limit (legacy full list)
+}
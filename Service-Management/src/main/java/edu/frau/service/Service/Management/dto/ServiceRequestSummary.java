@@ -0,0 +1,25 @@
+package edu.frau.service.Service.Management.dto;
+
+import edu.frau.service.Service.Management.model.RequestStatus;
+import edu.frau.service.Service.Management.model.RequestType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+// list-view row of a service request: scalar columns only, no element collections
+public record ServiceRequestSummary(
+        Long id,
+        String requestNumber,
+        String title,
+        RequestType type,
+        RequestStatus status,
+        String requestedByUsername,
+        String projectId,
+        String projectName,
+        String contractSupplier,
+        LocalDate startDate,
+        LocalDate endDate,
+        Boolean biddingActive,
+        Instant biddingEndAt
+) {
+}
@@ -31,6 +31,19 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(ex.getMessage());
     }
 
+    // Upstream (Group-1/2/3, provider API) tripped or saturated -> 503 instead of 400
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<String> handleUpstreamUnavailable(
+            UpstreamUnavailableException ex,
+            ServletWebRequest webRequest
+    ) {
+        HttpServletRequest request = webRequest.getRequest();
+        if (isPreflight(request)) {
+            throw ex;
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
     // Common MVC errors that often show up as 500 otherwise
     @ExceptionHandler({
             HttpMessageNotWritableException.class, // JSON serialization problems (very common with entities)
@@ -0,0 +1,19 @@
+package edu.frau.service.Service.Management.exception;
+
+/**
+ * Thrown without calling the upstream when its circuit breaker is open
+ * or its bulkhead has no free slot.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    private final String upstream;
+
+    public UpstreamUnavailableException(String upstream, String message) {
+        super(message);
+        this.upstream = upstream;
+    }
+
+    public String getUpstream() {
+        return upstream;
+    }
+}
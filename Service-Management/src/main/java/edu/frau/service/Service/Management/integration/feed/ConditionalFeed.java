@@ -0,0 +1,181 @@
+package edu.frau.service.Service.Management.integration.feed;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ✅ Change detection for one external feed.
+ * - Sends If-None-Match / If-Modified-Since when the upstream gave us validators -> 304 = unchanged
+ * - Upstreams without validators: SHA-256 of the body is compared with the last applied payload
+ * - The body is never buffered: it streams from the socket through the hash into the caller's reader
+ *   (a 200 with an unchanged hash costs one parse, but no byte[] copy of the whole feed)
+ *
+ * {@link #fetchIfChanged(BodyReader)} returns null when nothing changed, so callers can skip
+ * normalization and index rebuilds. Validators are only remembered once the
+ * caller confirms the payload was applied ({@link #markApplied(Payload)}).
+ */
+public class ConditionalFeed {
+
+    private final String url;
+    private final MediaType accept;
+    private final RestTemplate restTemplate;
+
+    private volatile String etag;
+    private volatile String lastModified;
+    private volatile String contentHash;
+
+    // ---- stats ----
+    private final AtomicLong fetchCount = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    private final AtomicLong unchangedHashCount = new AtomicLong();
+    private final AtomicLong changedCount = new AtomicLong();
+
+    public ConditionalFeed(String url, MediaType accept, RestTemplate restTemplate) {
+        this.url = url;
+        this.accept = accept;
+        this.restTemplate = restTemplate;
+    }
+
+    @FunctionalInterface
+    public interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+
+    public static final class Payload<T> {
+        private final T value;
+        private final String etag;
+        private final String lastModified;
+        private final String hash;
+
+        private Payload(T value, String etag, String lastModified, String hash) {
+            this.value = value;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+
+        public T value() {
+            return value;
+        }
+    }
+
+    record Hashed<T>(T value, String hash) {}
+
+    public <T> Payload<T> fetchIfChanged(BodyReader<T> reader) {
+        fetchCount.incrementAndGet();
+
+        Payload<T> payload = restTemplate.execute(
+                url,
+                HttpMethod.GET,
+                req -> {
+                    req.getHeaders().setAccept(List.of(accept));
+                    if (etag != null) req.getHeaders().setIfNoneMatch(etag);
+                    if (lastModified != null) req.getHeaders().set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+                },
+                res -> {
+                    if (res.getStatusCode().value() == 304) return null;
+
+                    Hashed<T> body = readHashed(res.getBody(), reader);
+                    return new Payload<>(
+                            body.value(),
+                            res.getHeaders().getETag(),
+                            res.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED),
+                            body.hash()
+                    );
+                }
+        );
+
+        if (payload == null) {
+            notModifiedCount.incrementAndGet();
+            return null;
+        }
+
+        if (payload.hash.equals(contentHash)) {
+            unchangedHashCount.incrementAndGet();
+            // same content: still keep the newest validators so the next call can be a 304
+            if (payload.etag != null) etag = payload.etag;
+            if (payload.lastModified != null) lastModified = payload.lastModified;
+            return null;
+        }
+
+        changedCount.incrementAndGet();
+        return payload;
+    }
+
+    public void markApplied(Payload<?> payload) {
+        etag = payload.etag;
+        lastModified = payload.lastModified;
+        contentHash = payload.hash;
+    }
+
+    /**
+     * Restores the validators of a payload applied before a restart (see {@link FeedSnapshotStore}).
+     */
+    public void restore(String etag, String lastModified, String contentHash) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.contentHash = contentHash;
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    public String lastModified() {
+        return lastModified;
+    }
+
+    public String contentHash() {
+        return contentHash;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("fetchCount", fetchCount.get());
+        out.put("notModifiedCount", notModifiedCount.get());
+        out.put("unchangedHashCount", unchangedHashCount.get());
+        out.put("changedCount", changedCount.get());
+        out.put("avoidedRebuilds", notModifiedCount.get() + unchangedHashCount.get());
+        out.put("etag", etag);
+        out.put("lastModified", lastModified);
+        return out;
+    }
+
+    // parses while hashing; whatever the reader leaves unread (e.g. fields after "data") is still hashed
+    static <T> Hashed<T> readHashed(InputStream body, BodyReader<T> reader) throws IOException {
+        DigestInputStream in = new DigestInputStream(body, sha256());
+
+        // parsers close their source when done -> keep the stream open for the rest of the hash
+        T value = reader.read(new FilterInputStream(in) {
+            @Override
+            public void close() {
+            }
+        });
+        in.transferTo(OutputStream.nullOutputStream());
+
+        return new Hashed<>(value, HexFormat.of().formatHex(in.getMessageDigest().digest()));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package edu.frau.service.Service.Management.integration.feed;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * ✅ Single-pass parser for the employee feed (XML export or JSON).
+ * - XML: StAX over {@code <item>} elements
+ * - JSON: Jackson tokens over a raw list or a { "data": [...] } wrapper
+ *
+ * Only email / role / firstName / lastName are kept per item and handed to the sink,
+ * so memory stays flat no matter how large the export is (no DOM / JsonNode tree).
+ */
+@Component
+public class EmployeeFeedParser {
+
+    public record Employee(String email, String role, String firstName, String lastName) {
+        public boolean isProjectManager() {
+            return "PROJECT_MANAGER".equalsIgnoreCase(role);
+        }
+    }
+
+    private static final XMLInputFactory XML_FACTORY = createXmlFactory();
+
+    private final ObjectMapper objectMapper;
+
+    public EmployeeFeedParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Streams every item of the feed into the sink and returns how many items were read.
+     * Throws IllegalArgumentException when the body is neither XML nor JSON.
+     */
+    public int parse(InputStream in, Consumer<Employee> sink) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        int first = peekFirstNonWhitespace(buffered);
+
+        // ✅ If response looks like XML
+        if (first == '<') return parseXml(buffered, sink);
+
+        // ✅ If response looks like JSON (fallback)
+        if (first == '[' || first == '{') return parseJson(buffered, sink);
+
+        throw new IllegalArgumentException("Unknown employee feed format");
+    }
+
+    // ---------------- XML ----------------
+
+    private int parseXml(InputStream in, Consumer<Employee> sink) throws IOException {
+        XMLStreamReader r = null;
+        try {
+            r = XML_FACTORY.createXMLStreamReader(in);
+            int count = 0;
+
+            while (r.hasNext()) {
+                if (r.next() == XMLStreamConstants.START_ELEMENT && "item".equals(r.getLocalName())) {
+                    sink.accept(readXmlItem(r));
+                    count++;
+                }
+            }
+            return count;
+        } catch (XMLStreamException e) {
+            throw new IOException("Invalid employee XML: " + e.getMessage(), e);
+        } finally {
+            if (r != null) {
+                try {
+                    r.close();
+                } catch (XMLStreamException ignored) {
+                }
+            }
+        }
+    }
+
+    // reader is on <item>; returns when it reaches the matching </item>
+    private Employee readXmlItem(XMLStreamReader r) throws XMLStreamException {
+        String email = null, role = null, firstName = null, lastName = null;
+        int depth = 1;
+
+        while (depth > 0 && r.hasNext()) {
+            int event = r.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                // first occurrence wins (same as the old getElementsByTagName(...).item(0))
+                switch (r.getLocalName()) {
+                    case "email" -> { if (email == null) email = r.getElementText(); }
+                    case "role" -> { if (role == null) role = r.getElementText(); }
+                    case "firstName" -> { if (firstName == null) firstName = r.getElementText(); }
+                    case "lastName" -> { if (lastName == null) lastName = r.getElementText(); }
+                    default -> depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return new Employee(email, role, firstName, lastName);
+    }
+
+    // ---------------- JSON ----------------
+
+    private int parseJson(InputStream in, Consumer<Employee> sink) throws IOException {
+        try (JsonParser p = objectMapper.getFactory().createParser(in)) {
+            JsonToken t = p.nextToken();
+
+            // sometimes it could be { "data": [...] } or just [...]
+            if (t == JsonToken.START_ARRAY) return readJsonArray(p, sink);
+
+            if (t == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    JsonToken value = p.nextToken();
+
+                    if ("data".equals(field) && value == JsonToken.START_ARRAY) return readJsonArray(p, sink);
+                    p.skipChildren();
+                }
+            }
+            return 0;
+        }
+    }
+
+    private int readJsonArray(JsonParser p, Consumer<Employee> sink) throws IOException {
+        int count = 0;
+
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY && t != null) {
+            if (t != JsonToken.START_OBJECT) {
+                p.skipChildren();
+                continue;
+            }
+
+            String email = null, role = null, firstName = null, lastName = null;
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                JsonToken value = p.nextToken();
+
+                if (value.isStructStart()) {
+                    p.skipChildren();
+                    continue;
+                }
+
+                switch (field) {
+                    case "email" -> email = text(p);
+                    case "role" -> role = text(p);
+                    case "firstName" -> firstName = text(p);
+                    case "lastName" -> lastName = text(p);
+                    default -> { }
+                }
+            }
+
+            sink.accept(new Employee(email, role, firstName, lastName));
+            count++;
+        }
+        return count;
+    }
+
+    private String text(JsonParser p) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL) return null;
+        String v = p.getValueAsString();
+        return (v == null || v.isBlank()) ? null : v;
+    }
+
+    // ---------------- helpers ----------------
+
+    private int peekFirstNonWhitespace(BufferedInputStream in) throws IOException {
+        while (true) {
+            in.mark(1);
+            int b = in.read();
+            if (b == -1) return -1;
+            if (!Character.isWhitespace(b) && b != 0xEF && b != 0xBB && b != 0xBF) {
+                in.reset();
+                return b;
+            }
+        }
+    }
+
+    private static XMLInputFactory createXmlFactory() {
+        XMLInputFactory f = XMLInputFactory.newFactory();
+        // employee exports are plain data -> no DTDs / external entities (XXE)
+        f.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        f.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        f.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        return f;
+    }
+}
@@ -0,0 +1,167 @@
+package edu.frau.service.Service.Management.integration.feed;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ✅ Stale-while-revalidate holder for one external feed.
+ * - First call loads synchronously (nothing to serve yet)
+ * - After that callers always get the last good snapshot immediately
+ * - When the snapshot is older than the TTL, ONE background refresh is started
+ * - If the upstream fails, the old snapshot stays in place
+ * - Concurrent loads (cold start, forced refresh) share one download via {@link SingleFlight}
+ * - A loader may return null to say "upstream unchanged": the current snapshot is kept and re-dated
+ * - {@link #prime} seeds a snapshot restored from disk before the first download
+ */
+public class FeedSnapshotCache<T> {
+
+    private static final ExecutorService REFRESHER = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "feed-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final String name;
+    private final Supplier<T> loader;
+    private final Duration ttl;
+
+    private volatile T value;
+    private volatile Instant loadedAt;
+    private volatile boolean restoredFromDisk;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+    private final SingleFlight<T> flight = new SingleFlight<>();
+
+    // ---- stats (exposed via /api/external/status) ----
+    private final AtomicLong refreshCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong unchangedCount = new AtomicLong();
+    private volatile long lastRefreshMillis = -1;
+    private volatile Instant lastFailureAt;
+    private volatile String lastError;
+
+    public FeedSnapshotCache(String name, Duration ttl, Supplier<T> loader) {
+        this.name = name;
+        this.ttl = ttl;
+        this.loader = loader;
+    }
+
+    public T get() {
+        T v = value;
+        if (v == null) return loadBlocking();
+
+        if (isStale()) refreshAsync();
+        return v;
+    }
+
+    /**
+     * Seeds the cache with a snapshot restored from disk. Its age is the original download time,
+     * so an old file is served immediately but refreshed on the next check.
+     */
+    public void prime(T restored, Instant downloadedAt) {
+        if (restored == null || value != null) return;
+        value = restored;
+        loadedAt = downloadedAt;
+        restoredFromDisk = true;
+    }
+
+    public boolean isStale() {
+        Instant at = loadedAt;
+        return at == null || Duration.between(at, Instant.now()).compareTo(ttl) >= 0;
+    }
+
+    public void refreshIfStale() {
+        if (isStale()) refreshAsync();
+    }
+
+    /**
+     * Starts a background refresh unless one is already running.
+     */
+    public void refreshAsync() {
+        if (!refreshing.compareAndSet(false, true)) return;
+
+        REFRESHER.execute(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException ignored) {
+                // already counted in refresh(); keep serving the old snapshot
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    /**
+     * Pulls a new snapshot now. On failure the previous snapshot is kept and the error is rethrown.
+     * Callers arriving while a download is running wait for that download instead of starting another.
+     */
+    public void refresh() {
+        flight.execute(name, this::loadAndStore);
+    }
+
+    private T loadAndStore() {
+        long start = System.nanoTime();
+        try {
+            T fresh = loader.get();
+
+            if (fresh == null) {
+                T current = value;
+                if (current == null) throw new IllegalStateException("Feed returned no data");
+
+                // upstream unchanged -> no rebuild, just mark the snapshot as fresh again
+                loadedAt = Instant.now();
+                unchangedCount.incrementAndGet();
+                return current;
+            }
+
+            value = fresh;
+            loadedAt = Instant.now();
+            restoredFromDisk = false;
+            refreshCount.incrementAndGet();
+            return fresh;
+        } catch (RuntimeException e) {
+            failureCount.incrementAndGet();
+            lastFailureAt = Instant.now();
+            lastError = e.getMessage();
+            System.out.println("[FeedCache] Refresh of " + name + " failed -> " + e.getMessage());
+            throw e;
+        } finally {
+            lastRefreshMillis = (System.nanoTime() - start) / 1_000_000;
+        }
+    }
+
+    private T loadBlocking() {
+        T v = value;
+        if (v != null) return v;
+
+        return flight.execute(name, this::loadAndStore);
+    }
+
+    public Map<String, Object> stats() {
+        Instant at = loadedAt;
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("name", name);
+        out.put("loaded", at != null);
+        out.put("loadedAt", at);
+        out.put("ageSeconds", at == null ? null : Duration.between(at, Instant.now()).getSeconds());
+        out.put("ttlSeconds", ttl.getSeconds());
+        out.put("stale", isStale());
+        out.put("restoredFromDisk", restoredFromDisk);
+        out.put("refreshing", refreshing.get());
+        out.put("lastRefreshMillis", lastRefreshMillis);
+        out.put("refreshCount", refreshCount.get());
+        out.put("failureCount", failureCount.get());
+        out.put("unchangedCount", unchangedCount.get());
+        out.put("lastFailureAt", lastFailureAt);
+        out.put("lastError", lastError);
+        return out;
+    }
+}
@@ -0,0 +1,17 @@
+package edu.frau.service.Service.Management.integration.feed;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ✅ On-disk form of one feed snapshot (see {@link FeedSnapshotStore}).
+ * Keeps the validators so the first refresh after a restart can still be a 304.
+ */
+public class FeedSnapshotFile {
+    public long savedAt;              // epoch millis of the upstream download
+    public String etag;
+    public String lastModified;
+    public String contentHash;
+
+    public List<Map<String, Object>> items;   // list feeds (projects, contracts)
+}
@@ -0,0 +1,97 @@
+package edu.frau.service.Service.Management.integration.feed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ✅ Keeps the last good snapshot of each external feed on local disk (gzip'd JSON, one file per feed).
+ * - Loaded at startup so caches are warm before the first request, even when an upstream is down
+ * - Written after every successful change, via temp file + atomic move (never a half-written file)
+ * - Unreadable / corrupt files are ignored -> normal cold download
+ * - Default location is app-owned (~/.service-management/feed-snapshots), created owner-only where POSIX
+ *   permissions exist; never used for authorization data (PM whitelist always comes from the live feed / DB)
+ */
+@Component
+public class FeedSnapshotStore {
+
+    private final ObjectMapper objectMapper;
+    private final Path dir;
+    private final boolean enabled;
+
+    public FeedSnapshotStore(
+            ObjectMapper objectMapper,
+            @Value("${external.snapshot.dir:${user.home}/.service-management/feed-snapshots}") String dir,
+            @Value("${external.snapshot.enabled:true}") boolean enabled
+    ) {
+        this.objectMapper = objectMapper;
+        this.dir = Path.of(dir);
+        this.enabled = enabled;
+    }
+
+    public FeedSnapshotFile load(String name) {
+        if (!enabled) return null;
+
+        Path file = fileFor(name);
+        if (!Files.isRegularFile(file)) return null;
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return objectMapper.readValue(in, FeedSnapshotFile.class);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("[FeedStore] Ignoring unreadable snapshot " + file + " -> " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void save(String name, FeedSnapshotFile snapshot) {
+        if (!enabled) return;
+
+        Path file = fileFor(name);
+        Path tmp = null;
+        try {
+            createPrivateDir();
+            tmp = Files.createTempFile(dir, name, ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                objectMapper.writeValue(out, snapshot);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // persisting is best effort: the in-memory snapshot is already live
+            System.out.println("[FeedStore] Could not write snapshot " + file + " -> " + e.getMessage());
+            deleteQuietly(tmp);
+        }
+    }
+
+    private void createPrivateDir() throws IOException {
+        if (Files.isDirectory(dir)) return;
+
+        if (dir.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            Files.createDirectories(dir,
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } else {
+            Files.createDirectories(dir);
+        }
+    }
+
+    private void deleteQuietly(Path tmp) {
+        if (tmp == null) return;
+        try {
+            Files.deleteIfExists(tmp);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private Path fileFor(String name) {
+        return dir.resolve(name + ".json.gz");
+    }
+}
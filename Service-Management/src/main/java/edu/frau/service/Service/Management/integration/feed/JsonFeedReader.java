@@ -0,0 +1,82 @@
+package edu.frau.service.Service.Management.integration.feed;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ✅ Streaming reader for external JSON feeds.
+ * Accepts both shapes we see from the other groups:
+ * - raw list:       [ {...}, {...} ]
+ * - wrapper object: { "success": true, "message": "...", "data": [ {...} ] }
+ *
+ * Wrapper fields other than "data" and non-object list entries are skipped
+ * token by token instead of being materialized into Map/List trees.
+ * Items themselves stay complete maps: /api/external/projects and /contracts hand them to the
+ * frontend unchanged, so no item field is "unused". Heap / time against the old
+ * exchange(Object.class) path: JsonFeedReaderBenchmarkTest.
+ */
+@Component
+public class JsonFeedReader {
+
+    private static final TypeReference<Map<String, Object>> ITEM_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    // type + deserializer resolved once, not per item
+    private final ObjectReader itemReader;
+
+    public JsonFeedReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.itemReader = objectMapper.readerFor(ITEM_TYPE);
+    }
+
+    public List<Map<String, Object>> readItems(InputStream in) throws IOException {
+        if (in == null) return new ArrayList<>();
+
+        try (JsonParser p = objectMapper.getFactory().createParser(in)) {
+            JsonToken t = p.nextToken();
+
+            if (t == JsonToken.START_ARRAY) {
+                return readArray(p);
+            }
+
+            if (t == JsonToken.START_OBJECT) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = p.currentName();
+                    JsonToken value = p.nextToken();
+
+                    if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                        // nothing after "data" is needed -> stop reading here
+                        return readArray(p);
+                    }
+                    p.skipChildren();
+                }
+            }
+
+            return new ArrayList<>();
+        }
+    }
+
+    private List<Map<String, Object>> readArray(JsonParser p) throws IOException {
+        List<Map<String, Object>> out = new ArrayList<>();
+
+        JsonToken t;
+        while ((t = p.nextToken()) != JsonToken.END_ARRAY && t != null) {
+            if (t == JsonToken.START_OBJECT) {
+                out.add(itemReader.readValue(p));
+            } else {
+                p.skipChildren();
+            }
+        }
+        return out;
+    }
+}
@@ -2,6 +2,8 @@ package edu.frau.service.Service.Management.integration.provider;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.frau.service.Service.Management.exception.UpstreamUnavailableException;
+import edu.frau.service.Service.Management.integration.resilience.UpstreamGuards;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpStatusCodeException;
@@ -30,10 +32,12 @@ public class Group3IntegrationClient {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final UpstreamGuards guards;
 
-    public Group3IntegrationClient(ObjectMapper objectMapper) {
-        this.restTemplate = new RestTemplate();
+    public Group3IntegrationClient(RestTemplate restTemplate, ObjectMapper objectMapper, UpstreamGuards guards) {
+        this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
+        this.guards = guards;
     }
 
     // ---------------- Offer decision (same as your last working) ----------------
@@ -80,12 +84,12 @@ public class Group3IntegrationClient {
 
             HttpEntity<String> entity = new HttpEntity<>(json, headers);
 
-            ResponseEntity<String> res = restTemplate.exchange(
+            ResponseEntity<String> res = guards.get(UpstreamGuards.GROUP3_DECISIONS).call(() -> restTemplate.exchange(
                     url,
                     HttpMethod.POST,
                     entity,
                     String.class
-            );
+            ));
 
             if (!returnProviderOrderId) return null;
 
@@ -111,6 +115,8 @@ public class Group3IntegrationClient {
             System.out.println("Response body: " + ex.getResponseBodyAsString());
             System.out.println("=======================================");
             throw ex;
+        } catch (UpstreamUnavailableException ex) {
+            throw ex;
         } catch (Exception ex) {
             throw new IllegalStateException("Group3 integration failed unexpectedly: " + ex.getMessage(), ex);
         }
@@ -135,12 +141,12 @@ public class Group3IntegrationClient {
             String json = objectMapper.writeValueAsString(outer);
             HttpEntity<String> entity = new HttpEntity<>(json, headers);
 
-            restTemplate.exchange(
+            guards.get(UpstreamGuards.GROUP3_CHANGES).call(() -> restTemplate.exchange(
                     CHANGE_SUBSTITUTION_URL,
                     HttpMethod.POST,
                     entity,
                     String.class
-            );
+            ));
 
         } catch (HttpStatusCodeException ex) {
             System.out.println("========= Group3 substitution change call failed ==========");
@@ -150,6 +156,8 @@ public class Group3IntegrationClient {
             System.out.println("Response body: " + ex.getResponseBodyAsString());
             System.out.println("=========================================================");
             throw ex;
+        } catch (UpstreamUnavailableException ex) {
+            throw ex;
         } catch (Exception ex) {
             throw new IllegalStateException("Group3 substitution call failed unexpectedly: " + ex.getMessage(), ex);
         }
@@ -178,12 +186,12 @@ public class Group3IntegrationClient {
             String json = objectMapper.writeValueAsString(outer);
             HttpEntity<String> entity = new HttpEntity<>(json, headers);
 
-            restTemplate.exchange(
+            guards.get(UpstreamGuards.GROUP3_CHANGES).call(() -> restTemplate.exchange(
                     CHANGE_EXTENSION_URL,
                     HttpMethod.POST,
                     entity,
                     String.class
-            );
+            ));
 
         } catch (HttpStatusCodeException ex) {
             System.out.println("========= Group3 extension change call failed ==========");
@@ -193,6 +201,8 @@ public class Group3IntegrationClient {
             System.out.println("Response body: " + ex.getResponseBodyAsString());
             System.out.println("=======================================================");
             throw ex;
+        } catch (UpstreamUnavailableException ex) {
+            throw ex;
         } catch (Exception ex) {
             throw new IllegalStateException("Group3 extension call failed unexpectedly: " + ex.getMessage(), ex);
         }
@@ -1,39 +1,190 @@
 package edu.frau.service.Service.Management.integration.provider;
 
+import edu.frau.service.Service.Management.integration.feed.SingleFlight;
+import edu.frau.service.Service.Management.integration.resilience.UpstreamGuards;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import java.util.Collections;
-import java.util.List;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
 
+/**
+ * ✅ Provider offers with a since-cursor instead of a full download per pull.
+ * - Keeps a local copy of the provider's offer history (by offer id and by requestId)
+ * - Watermark = highest numeric offer id seen; later calls only ask for newer offers (?sinceId=...)
+ * - Every fullResyncMinutes the whole list is downloaded again and replaces the copy
+ *   (picks up edited / deleted offers, and anything a provider ignoring the cursor got wrong)
+ * - Syncs are coalesced (SingleFlight): concurrent callers share the running download instead of starting their own
+ * - The download runs outside the lock; the lock is only held to merge the result and to read the copy
+ */
 @Service
 @ConditionalOnProperty(name = "provider.api.enabled", havingValue = "true")
 public class ProviderManagementClient {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+    private final UpstreamGuards guards;
 
-    @Value("${provider.api.baseUrl:}")
-    private String baseUrl;
+    private final String baseUrl;
+    private final String offersPath;
+    private final String sinceParam;
+    private final Duration fullResyncInterval;
 
-    @Value("${provider.api.offersPath:}")
-    private String offersPath;
+    private final SingleFlight<Boolean> syncFlight = new SingleFlight<>();
+
+    // guarded by this
+    private final Map<String, ProviderOfferDTO> offersById = new LinkedHashMap<>();
+    private final Map<String, List<ProviderOfferDTO>> offersByRequest = new HashMap<>();
+    private long watermark = -1; // -1 = nothing with a numeric id seen yet
+    private Instant lastFullSync;
+    private long fullSyncs;
+    private long incrementalSyncs;
+    private int lastFetched;
+
+    public ProviderManagementClient(
+            RestTemplate restTemplate,
+            UpstreamGuards guards,
+            @Value("${provider.api.baseUrl:}") String baseUrl,
+            @Value("${provider.api.offersPath:}") String offersPath,
+            @Value("${provider.api.sinceParam:sinceId}") String sinceParam,
+            @Value("${provider.api.fullResyncMinutes:30}") long fullResyncMinutes
+    ) {
+        this.restTemplate = restTemplate;
+        this.guards = guards;
+        this.baseUrl = baseUrl;
+        this.offersPath = offersPath;
+        this.sinceParam = sinceParam;
+        this.fullResyncInterval = Duration.ofMinutes(fullResyncMinutes);
+    }
 
     public List<ProviderOfferDTO> fetchAllOffers() {
-        if (baseUrl.isBlank() || offersPath.isBlank()) return Collections.emptyList();
+        if (disabled()) return Collections.emptyList();
+
+        sync();
+        synchronized (this) {
+            return new ArrayList<>(offersById.values());
+        }
+    }
+
+    public List<ProviderOfferDTO> fetchOffersFor(String requestNumber) {
+        if (disabled() || requestNumber == null) return Collections.emptyList();
+
+        sync();
+        synchronized (this) {
+            return new ArrayList<>(offersByRequest.getOrDefault(requestNumber, List.of()));
+        }
+    }
+
+    // one sync for many requests (auto-pull tick)
+    public Map<String, List<ProviderOfferDTO>> fetchOffersFor(Collection<String> requestNumbers) {
+        Map<String, List<ProviderOfferDTO>> out = new HashMap<>();
+        if (disabled() || requestNumbers == null || requestNumbers.isEmpty()) return out;
+
+        sync();
+        synchronized (this) {
+            for (String rn : requestNumbers) {
+                List<ProviderOfferDTO> offers = offersByRequest.get(rn);
+                if (offers != null && !offers.isEmpty()) out.put(rn, new ArrayList<>(offers));
+            }
+        }
+        return out;
+    }
 
-        String url = baseUrl + offersPath;
+    public synchronized Map<String, Object> syncStats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("offers", offersById.size());
+        out.put("watermark", watermark);
+        out.put("lastFullSync", lastFullSync);
+        out.put("fullSyncs", fullSyncs);
+        out.put("incrementalSyncs", incrementalSyncs);
+        out.put("lastFetched", lastFetched);
+        return out;
+    }
+
+    private boolean disabled() {
+        return baseUrl.isBlank() || offersPath.isBlank();
+    }
 
-        List<ProviderOfferDTO> data = restTemplate.exchange(
+    // one sync at a time (callers arriving meanwhile share it), so state only changes between plan and merge here
+    private void sync() {
+        syncFlight.execute("offers", () -> {
+            Instant now = Instant.now();
+            boolean full;
+            String url = baseUrl + offersPath;
+
+            synchronized (this) {
+                full = lastFullSync == null
+                        || watermark < 0
+                        || !now.isBefore(lastFullSync.plus(fullResyncInterval));
+                if (!full) {
+                    url = UriComponentsBuilder.fromUriString(url).queryParam(sinceParam, watermark).toUriString();
+                }
+            }
+
+            // download without the lock: readers keep getting the current copy meanwhile.
+            // a failed call leaves the previous copy and watermark untouched
+            List<ProviderOfferDTO> data = download(url);
+
+            synchronized (this) {
+                if (full) {
+                    offersById.clear();
+                    offersByRequest.clear();
+                    watermark = -1;
+                    lastFullSync = now;
+                    fullSyncs++;
+                } else {
+                    incrementalSyncs++;
+                }
+
+                for (ProviderOfferDTO o : data) merge(o, full);
+                lastFetched = data.size();
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    private List<ProviderOfferDTO> download(String url) {
+        List<ProviderOfferDTO> data = guards.get(UpstreamGuards.PROVIDER_OFFERS).call(() -> restTemplate.exchange(
                 url,
                 HttpMethod.GET,
                 null,
                 new ParameterizedTypeReference<List<ProviderOfferDTO>>() {}
-        ).getBody();
+        ).getBody());
 
         return data != null ? data : Collections.emptyList();
     }
+
+    private void merge(ProviderOfferDTO o, boolean full) {
+        if (o == null) return;
+
+        long id = numericId(o);
+        // provider ignored / repeated the cursor -> already have it (edits arrive with the next full resync)
+        if (!full && id <= watermark) return;
+
+        String key = o.id != null ? o.id : "#" + offersById.size();
+        ProviderOfferDTO previous = offersById.put(key, o);
+        if (previous != null && previous.requestId != null) {
+            List<ProviderOfferDTO> list = offersByRequest.get(previous.requestId);
+            if (list != null) list.remove(previous);
+        }
+        if (o.requestId != null) {
+            offersByRequest.computeIfAbsent(o.requestId, k -> new ArrayList<>()).add(o);
+        }
+
+        if (id > watermark) watermark = id;
+    }
+
+    private static long numericId(ProviderOfferDTO o) {
+        if (o.id == null) return -1;
+        try {
+            return Long.parseLong(o.id.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
 }
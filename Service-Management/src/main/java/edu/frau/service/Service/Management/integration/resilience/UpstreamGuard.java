@@ -0,0 +1,157 @@
+package edu.frau.service.Service.Management.integration.resilience;
+
+import edu.frau.service.Service.Management.exception.UpstreamUnavailableException;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ✅ Circuit breaker + bulkhead for ONE upstream.
+ * - CLOSED: calls go through; N consecutive failures -> OPEN
+ * - OPEN: calls fail fast (no socket wait) until openDuration has passed
+ * - HALF_OPEN: one trial call; success -> CLOSED, failure -> OPEN again
+ * - bulkhead: at most maxConcurrent calls in flight, extra callers fail fast
+ *
+ * 4xx responses mean the upstream is alive, so they do not count as failures.
+ */
+public class UpstreamGuard {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final int maxConcurrent;
+    private final Semaphore bulkhead;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialInFlight;
+
+    // ---- stats ----
+    private final AtomicLong successCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private volatile String lastError;
+
+    public UpstreamGuard(String name, int failureThreshold, Duration openDuration, int maxConcurrent) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.bulkhead = new Semaphore(this.maxConcurrent);
+    }
+
+    public <T> T call(Supplier<T> action) {
+        if (!tryAcquirePermission()) {
+            rejectedCount.incrementAndGet();
+            throw new UpstreamUnavailableException(name, "Upstream '" + name + "' is unavailable (circuit open)");
+        }
+
+        if (!bulkhead.tryAcquire()) {
+            releaseTrial();
+            rejectedCount.incrementAndGet();
+            throw new UpstreamUnavailableException(name, "Upstream '" + name + "' is busy (too many concurrent calls)");
+        }
+
+        try {
+            T result = action.get();
+            onSuccess();
+            return result;
+        } catch (Throwable t) {
+            // Errors included: a HALF_OPEN trial must always end, or the circuit stays tripped until restart
+            if (countsAsFailure(t)) onFailure(t);
+            else onSuccess();
+            throw t;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * True while callers should skip this upstream and use their fallback.
+     */
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && Instant.now().isBefore(openedAt.plus(openDuration));
+    }
+
+    private synchronized boolean tryAcquirePermission() {
+        if (state == State.CLOSED) return true;
+
+        if (state == State.OPEN) {
+            if (Instant.now().isBefore(openedAt.plus(openDuration))) return false;
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+
+        // HALF_OPEN: exactly one trial call
+        if (trialInFlight) return false;
+        trialInFlight = true;
+        return true;
+    }
+
+    private synchronized void releaseTrial() {
+        if (state == State.HALF_OPEN) trialInFlight = false;
+    }
+
+    private synchronized void onSuccess() {
+        successCount.incrementAndGet();
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    private synchronized void onFailure(Throwable e) {
+        failureCount.incrementAndGet();
+        lastError = e.getMessage();
+        trialInFlight = false;
+        consecutiveFailures++;
+
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                System.out.println("[UpstreamGuard] Circuit for " + name + " OPEN after "
+                        + consecutiveFailures + " failure(s) -> " + e.getMessage());
+            }
+            state = State.OPEN;
+            openedAt = Instant.now();
+        }
+    }
+
+    private boolean countsAsFailure(Throwable e) {
+        return !(e instanceof HttpClientErrorException)
+                && !(e instanceof IllegalArgumentException)
+                && !(e instanceof UpstreamUnavailableException);
+    }
+
+    public synchronized Map<String, Object> stats() {
+        // an OPEN circuit whose wait is over will let the next call through as a trial
+        State shown = (state == State.OPEN && !isOpen()) ? State.HALF_OPEN : state;
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("state", shown.name());
+        out.put("consecutiveFailures", consecutiveFailures);
+        out.put("openedAt", openedAt);
+        out.put("openSeconds", openDuration.getSeconds());
+        out.put("inFlight", maxConcurrent - bulkhead.availablePermits());
+        out.put("maxConcurrent", maxConcurrent);
+        out.put("successCount", successCount.get());
+        out.put("failureCount", failureCount.get());
+        out.put("rejectedCount", rejectedCount.get());
+        out.put("lastError", lastError);
+        return out;
+    }
+}
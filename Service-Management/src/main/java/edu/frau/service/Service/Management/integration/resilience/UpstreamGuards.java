@@ -0,0 +1,50 @@
+package edu.frau.service.Service.Management.integration.resilience;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of one {@link UpstreamGuard} per upstream, created on first use.
+ */
+@Component
+public class UpstreamGuards {
+
+    public static final String PROJECTS = "projects";
+    public static final String CONTRACTS = "contracts";
+    public static final String EMPLOYEES = "employees";
+    public static final String GROUP3_DECISIONS = "group3-decisions";
+    public static final String GROUP3_CHANGES = "group3-changes";
+    public static final String PROVIDER_OFFERS = "provider-offers";
+
+    private final Map<String, UpstreamGuard> guards = new ConcurrentHashMap<>();
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final int maxConcurrent;
+
+    public UpstreamGuards(
+            @Value("${upstream.breaker.failureThreshold:5}") int failureThreshold,
+            @Value("${upstream.breaker.openSeconds:30}") long openSeconds,
+            @Value("${upstream.bulkhead.maxConcurrent:10}") int maxConcurrent
+    ) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = Duration.ofSeconds(openSeconds);
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public UpstreamGuard get(String upstream) {
+        return guards.computeIfAbsent(upstream,
+                n -> new UpstreamGuard(n, failureThreshold, openDuration, maxConcurrent));
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new TreeMap<>();
+        guards.forEach((name, guard) -> out.put(name, guard.stats()));
+        return out;
+    }
+}
@@ -0,0 +1,24 @@
+package edu.frau.service.Service.Management.integration.resilience;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// GET /actuator/upstreams -> circuit breaker + bulkhead state per upstream
+@Component
+@Endpoint(id = "upstreams")
+public class UpstreamsEndpoint {
+
+    private final UpstreamGuards guards;
+
+    public UpstreamsEndpoint(UpstreamGuards guards) {
+        this.guards = guards;
+    }
+
+    @ReadOperation
+    public Map<String, Object> upstreams() {
+        return guards.stats();
+    }
+}
@@ -28,6 +28,13 @@ public class AllowedProjectManager {
     @Column(length = 200)
     private String fullName;
 
+    // kept separately for the optional first/last name check at registration
+    @Column(length = 100)
+    private String firstName;
+
+    @Column(length = 100)
+    private String lastName;
+
     private Instant importedAt = Instant.now();
 
     public AllowedProjectManager() {}
@@ -50,6 +57,12 @@ public class AllowedProjectManager {
     public String getFullName() { return fullName; }
     public void setFullName(String fullName) { this.fullName = fullName; }
 
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+
     public Instant getImportedAt() { return importedAt; }
     public void setImportedAt(Instant importedAt) { this.importedAt = importedAt; }
 }
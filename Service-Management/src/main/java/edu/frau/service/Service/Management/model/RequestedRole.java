@@ -1,8 +1,6 @@
 package edu.frau.service.Service.Management.model;
 
-import jakarta.persistence.Embeddable;
-
-@Embeddable
+// stored as part of the JSON "roles" column of service_requests (plain value object, not an embeddable)
 public class RequestedRole {
 
     private String domain;
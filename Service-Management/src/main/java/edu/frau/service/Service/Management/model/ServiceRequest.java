@@ -2,6 +2,8 @@ package edu.frau.service.Service.Management.model;
 
 import com.fasterxml.jackson.annotation.JsonAlias;
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
@@ -45,13 +47,16 @@ public class ServiceRequest {
     private Integer maxOffers;
     private Integer maxAcceptedOffers;
 
-    @ElementCollection
+    // ✅ list attributes live in JSON columns of service_requests -> reading / saving a request
+    // is one row (no child tables, no delete + re-insert of children on update).
+    // old join-table data is copied over by ServiceRequestJsonMigration
+    @JdbcTypeCode(SqlTypes.JSON)
     private List<String> requiredLanguages;
 
-    @ElementCollection
+    @JdbcTypeCode(SqlTypes.JSON)
     private List<String> mustHaveCriteria;
 
-    @ElementCollection
+    @JdbcTypeCode(SqlTypes.JSON)
     private List<String> niceToHaveCriteria;
 
     @Column(length = 2000)
@@ -65,11 +70,7 @@ public class ServiceRequest {
 
     private Long preferredOfferId;
 
-    @ElementCollection
-    @CollectionTable(
-            name = "service_request_roles",
-            joinColumns = @JoinColumn(name = "service_request_id")
-    )
+    @JdbcTypeCode(SqlTypes.JSON)
     private List<RequestedRole> roles;
 
     // ================= ✅ BIDDING CYCLE FIELDS =================
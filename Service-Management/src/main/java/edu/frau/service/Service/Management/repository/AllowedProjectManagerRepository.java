@@ -5,7 +5,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
-public interface AllowedProjectManagerRepository extends JpaRepository<AllowedProjectManager, Long> {
+public interface AllowedProjectManagerRepository extends JpaRepository<AllowedProjectManager, Long>,
+        AllowedProjectManagerRepositoryCustom {
+    // imports store emails trimmed + lower-case -> exact match uses the unique index
+    Optional<AllowedProjectManager> findByEmail(String email);
     Optional<AllowedProjectManager> findByEmailIgnoreCase(String email);
     Optional<AllowedProjectManager> findByUsernameIgnoreCase(String username);
     boolean existsByEmailIgnoreCase(String email);
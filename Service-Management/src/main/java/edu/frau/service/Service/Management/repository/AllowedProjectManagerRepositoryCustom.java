@@ -0,0 +1,14 @@
+package edu.frau.service.Service.Management.repository;
+
+import edu.frau.service.Service.Management.dto.PmRecord;
+
+import java.util.List;
+
+public interface AllowedProjectManagerRepositoryCustom {
+
+    /**
+     * Inserts new / updates existing whitelist rows (matched by email) with JDBC batches.
+     * One call = one transaction, so large imports are written chunk by chunk.
+     */
+    int upsertBatch(List<PmRecord> chunk);
+}
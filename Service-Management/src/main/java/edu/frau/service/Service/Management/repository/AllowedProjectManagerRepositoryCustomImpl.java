@@ -0,0 +1,73 @@
+package edu.frau.service.Service.Management.repository;
+
+import edu.frau.service.Service.Management.dto.PmRecord;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * ✅ Plain JDBC batches for whitelist imports (hundreds of thousands of rows).
+ * Per chunk: one SELECT for the emails that already exist, then one batched UPDATE
+ * and one batched INSERT. Works the same on H2 and Postgres (no vendor upsert syntax).
+ */
+public class AllowedProjectManagerRepositoryCustomImpl implements AllowedProjectManagerRepositoryCustom {
+
+    private static final String SELECT_EXISTING =
+            "SELECT email FROM allowed_project_managers WHERE email IN (:emails)";
+
+    private static final String UPDATE =
+            "UPDATE allowed_project_managers SET first_name = ?, last_name = ?, full_name = ?, imported_at = ? "
+                    + "WHERE email = ?";
+
+    private static final String INSERT =
+            "INSERT INTO allowed_project_managers (email, first_name, last_name, full_name, imported_at) "
+                    + "VALUES (?, ?, ?, ?, ?)";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public AllowedProjectManagerRepositoryCustomImpl(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    @Transactional
+    public int upsertBatch(List<PmRecord> chunk) {
+        if (chunk == null || chunk.isEmpty()) return 0;
+
+        // same email twice in one chunk -> last one wins
+        Map<String, PmRecord> byEmail = new LinkedHashMap<>();
+        for (PmRecord pm : chunk) byEmail.put(pm.email(), pm);
+
+        Set<String> existing = new HashSet<>(jdbc.queryForList(
+                SELECT_EXISTING, new MapSqlParameterSource("emails", byEmail.keySet()), String.class));
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+
+        for (PmRecord pm : byEmail.values()) {
+            String fullName = fullName(pm);
+            if (existing.contains(pm.email())) {
+                updates.add(new Object[]{pm.firstName(), pm.lastName(), fullName, now, pm.email()});
+            } else {
+                inserts.add(new Object[]{pm.email(), pm.firstName(), pm.lastName(), fullName, now});
+            }
+        }
+
+        if (!updates.isEmpty()) jdbc.getJdbcTemplate().batchUpdate(UPDATE, updates);
+        if (!inserts.isEmpty()) jdbc.getJdbcTemplate().batchUpdate(INSERT, inserts);
+
+        return byEmail.size();
+    }
+
+    private String fullName(PmRecord pm) {
+        String first = pm.firstName() == null ? "" : pm.firstName().trim();
+        String last = pm.lastName() == null ? "" : pm.lastName().trim();
+        String full = (first + " " + last).trim();
+        return full.isEmpty() ? null : full;
+    }
+}
@@ -18,8 +18,25 @@ public interface OfferEvaluationRepository extends JpaRepository<OfferEvaluation
 
     void deleteByServiceRequestId(Long requestId);
 
+    long countByServiceRequestId(Long requestId);
+
+    Optional<OfferEvaluation> findFirstByServiceRequestIdAndRecommendedTrue(Long requestId);
+
+    // cheapest eligible offer of a request (same cost rule as OfferEvaluationServiceImpl.safeTotalCost)
+    @Query("select min(case when o.totalCost > 0 then o.totalCost "
+            + "else (case when o.dailyRate > 0 then o.dailyRate else 0.0 end) "
+            + "+ (case when o.travellingCost > 0 then o.travellingCost else 0.0 end) end) "
+            + "from OfferEvaluation e join e.serviceOffer o "
+            + "where e.serviceRequest.id = :requestId and e.eligible = true")
+    Double findMinEligibleCost(@Param("requestId") Long requestId);
+
     // ✅ NEW: row-level lock for concurrency safety (prevents duplicate insert)
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("select e from OfferEvaluation e where e.serviceOffer.id = :offerId")
     Optional<OfferEvaluation> findWithLockByServiceOfferId(@Param("offerId") Long offerId);
+
+    // ✅ all rows of a request locked with one SELECT ... FOR UPDATE (instead of one query per offer)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from OfferEvaluation e where e.serviceRequest.id = :requestId")
+    List<OfferEvaluation> findAllWithLockByServiceRequestId(@Param("requestId") Long requestId);
 }
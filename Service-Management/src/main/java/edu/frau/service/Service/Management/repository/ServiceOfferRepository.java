@@ -15,6 +15,8 @@ public interface ServiceOfferRepository extends JpaRepository<ServiceOffer, Long
     // ✅ NEW: used by scheduler / expiry logic
     boolean existsByServiceRequestId(Long serviceRequestId);
 
+    long countByServiceRequestId(Long serviceRequestId);
+
     // ✅ NEW: map provider offer id -> internal offer (needed for Group3 callbacks)
     Optional<ServiceOffer> findByProviderOfferId(Long providerOfferId);
 
@@ -2,14 +2,19 @@ package edu.frau.service.Service.Management.repository;
 
 import edu.frau.service.Service.Management.model.RequestStatus;
 import edu.frau.service.Service.Management.model.ServiceRequest;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ServiceRequestRepository extends JpaRepository<ServiceRequest, Long> {
+public interface ServiceRequestRepository extends JpaRepository<ServiceRequest, Long>, ServiceRequestRepositoryCustom {
 
     boolean existsByRequestNumber(String requestNumber);
 
@@ -24,5 +29,8 @@ public interface ServiceRequestRepository extends JpaRepository<ServiceRequest,
 
     List<ServiceRequest> findByBiddingActiveTrueAndBiddingEndAtBefore(Instant now);
 
-
+    // row lock on the request: serializes work that must not run twice for the same request (offer scoring)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from ServiceRequest r where r.id = :id")
+    Optional<ServiceRequest> findWithLockById(@Param("id") Long id);
 }
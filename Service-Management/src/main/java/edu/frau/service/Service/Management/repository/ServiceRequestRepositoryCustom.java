@@ -0,0 +1,29 @@
+package edu.frau.service.Service.Management.repository;
+
+import edu.frau.service.Service.Management.dto.ClosedBiddingWindows;
+import edu.frau.service.Service.Management.dto.RequestPageQuery;
+import edu.frau.service.Service.Management.dto.ServiceRequestSummary;
+import edu.frau.service.Service.Management.model.ServiceRequest;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ServiceRequestRepositoryCustom {
+
+    /**
+     * Owner / status filtered, keyset-paginated listing (sort value + id as tie-breaker, nulls last).
+     * Returns at most query.limit rows.
+     */
+    List<ServiceRequest> findPage(RequestPageQuery query);
+
+    // same filters / order as findPage, but only the scalar list columns (single select, no collections)
+    List<ServiceRequestSummary> findSummaryPage(RequestPageQuery query);
+
+    /**
+     * Set-based close-out of bidding windows that ended at or before {@code now} (only among {@code ids}):
+     * one UPDATE deactivates them, a second one marks those without any service_offers row EXPIRED.
+     * Requests no longer active or not yet due are left alone.
+     */
+    ClosedBiddingWindows closeBiddingWindows(Collection<Long> ids, Instant now);
+}
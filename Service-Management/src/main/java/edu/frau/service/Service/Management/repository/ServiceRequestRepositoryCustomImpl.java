@@ -0,0 +1,170 @@
+package edu.frau.service.Service.Management.repository;
+
+import edu.frau.service.Service.Management.dto.ClosedBiddingWindows;
+import edu.frau.service.Service.Management.dto.RequestPageQuery;
+import edu.frau.service.Service.Management.dto.ServiceRequestSummary;
+import edu.frau.service.Service.Management.model.ServiceRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.DatabaseMetaData;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ✅ Keyset pagination over service_requests.
+ * Order: (sort value NULLS LAST, id) -> the next page starts strictly after the last (value, id) seen,
+ * so deep pages cost the same as the first one (no OFFSET scans).
+ *
+ * ✅ Bidding close-out as two set-based UPDATEs that return the affected ids
+ * (Postgres: UPDATE ... RETURNING, H2: SELECT ... FROM FINAL TABLE (UPDATE ...)).
+ */
+public class ServiceRequestRepositoryCustomImpl implements ServiceRequestRepositoryCustom {
+
+    private static final String DEACTIVATE =
+            "UPDATE service_requests SET bidding_active = FALSE "
+                    + "WHERE id IN (:ids) AND bidding_active = TRUE AND bidding_end_at <= :now";
+
+    private static final String EXPIRE_WITHOUT_OFFERS =
+            "UPDATE service_requests SET status = 'EXPIRED' "
+                    + "WHERE id IN (:ids) AND NOT EXISTS "
+                    + "(SELECT 1 FROM service_offers o WHERE o.service_request_id = service_requests.id)";
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private volatile Boolean postgres;
+
+    public ServiceRequestRepositoryCustomImpl(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public List<ServiceRequest> findPage(RequestPageQuery q) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<ServiceRequest> cq = cb.createQuery(ServiceRequest.class);
+        Root<ServiceRequest> r = cq.from(ServiceRequest.class);
+
+        cq.select(r);
+        applyFiltersAndOrder(cb, cq, r, q);
+        return limited(em.createQuery(cq), q).getResultList();
+    }
+
+    @Override
+    public List<ServiceRequestSummary> findSummaryPage(RequestPageQuery q) {
+        CriteriaBuilder cb = em.getCriteriaBuilder();
+        CriteriaQuery<ServiceRequestSummary> cq = cb.createQuery(ServiceRequestSummary.class);
+        Root<ServiceRequest> r = cq.from(ServiceRequest.class);
+
+        cq.select(cb.construct(ServiceRequestSummary.class,
+                r.get("id"),
+                r.get("requestNumber"),
+                r.get("title"),
+                r.get("type"),
+                r.get("status"),
+                r.get("requestedByUsername"),
+                r.get("projectId"),
+                r.get("projectName"),
+                r.get("contractSupplier"),
+                r.get("startDate"),
+                r.get("endDate"),
+                r.get("biddingActive"),
+                r.get("biddingEndAt")
+        ));
+        applyFiltersAndOrder(cb, cq, r, q);
+        return limited(em.createQuery(cq), q).getResultList();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void applyFiltersAndOrder(CriteriaBuilder cb, CriteriaQuery<?> cq, Root<ServiceRequest> r, RequestPageQuery q) {
+        Path<Long> id = r.get("id");
+        boolean byId = "id".equals(q.sortField);
+        Path<Comparable> value = byId ? (Path) id : r.get(q.sortField);
+
+        List<Predicate> where = new ArrayList<>();
+        if (q.requestedBy != null) where.add(cb.equal(r.get("requestedByUsername"), q.requestedBy));
+        if (q.statuses != null && !q.statuses.isEmpty()) where.add(r.get("status").in(q.statuses));
+        if (q.afterId != null) where.add(after(cb, value, id, byId, q));
+        cq.where(where.toArray(new Predicate[0]));
+
+        List<Order> order = new ArrayList<>();
+        if (!byId) {
+            // portable NULLS LAST (H2 + Postgres)
+            order.add(cb.asc(cb.<Integer>selectCase().when(cb.isNull(value), 1).otherwise(0)));
+            order.add(q.descending ? cb.desc(value) : cb.asc(value));
+        }
+        order.add(q.descending ? cb.desc(id) : cb.asc(id));
+        cq.orderBy(order);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate after(CriteriaBuilder cb, Path<Comparable> value, Path<Long> id, boolean byId, RequestPageQuery q) {
+        Predicate idAfter = q.descending ? cb.lessThan(id, q.afterId) : cb.greaterThan(id, q.afterId);
+        if (byId) return idAfter;
+
+        // previous page ended inside the NULL tail -> only NULLs with a later id remain
+        if (q.afterValue == null) return cb.and(cb.isNull(value), idAfter);
+
+        Comparable v = (Comparable) q.afterValue;
+        Predicate valueAfter = q.descending ? cb.lessThan(value, v) : cb.greaterThan(value, v);
+
+        return cb.or(
+                valueAfter,
+                cb.and(cb.equal(value, v), idAfter),
+                cb.isNull(value)
+        );
+    }
+
+    private <T> TypedQuery<T> limited(TypedQuery<T> query, RequestPageQuery q) {
+        if (q.limit != null) query.setMaxResults(q.limit);
+        return query;
+    }
+
+    @Override
+    @Transactional
+    public ClosedBiddingWindows closeBiddingWindows(Collection<Long> ids, Instant now) {
+        if (ids == null || ids.isEmpty()) return new ClosedBiddingWindows(List.of(), List.of());
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("now", OffsetDateTime.ofInstant(now, ZoneOffset.UTC));
+        List<Long> closed = updateReturningIds(DEACTIVATE, params);
+        if (closed.isEmpty()) return new ClosedBiddingWindows(closed, List.of());
+
+        // only the rows deactivated above, not requests that were closed earlier
+        List<Long> expired = updateReturningIds(EXPIRE_WITHOUT_OFFERS, new MapSqlParameterSource("ids", closed));
+        return new ClosedBiddingWindows(closed, expired);
+    }
+
+    private List<Long> updateReturningIds(String update, MapSqlParameterSource params) {
+        String sql = isPostgres()
+                ? update + " RETURNING id"
+                : "SELECT id FROM FINAL TABLE (" + update + ")";
+        return jdbc.queryForList(sql, params, Long.class);
+    }
+
+    private boolean isPostgres() {
+        if (postgres != null) return postgres;
+
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(
+                    jdbc.getJdbcTemplate().getDataSource(), DatabaseMetaData::getDatabaseProductName);
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Could not detect database for bidding close-out", e);
+        }
+        return postgres;
+    }
+}
@@ -1,50 +1,53 @@
 package edu.frau.service.Service.Management.service;
 
-import edu.frau.service.Service.Management.model.RequestStatus;
+import edu.frau.service.Service.Management.dto.ClosedBiddingWindows;
 import edu.frau.service.Service.Management.model.ServiceRequest;
-import edu.frau.service.Service.Management.repository.ServiceOfferRepository;
 import edu.frau.service.Service.Management.repository.ServiceRequestRepository;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 @Component
 public class BiddingCycleScheduler {
 
+    // ids per UPDATE ... IN (...) (thousands of windows closing at once -> several small statements)
+    private static final int CHUNK = 1000;
+
     private final ServiceRequestRepository requestRepository;
-    private final ServiceOfferRepository offerRepository;
 
-    public BiddingCycleScheduler(ServiceRequestRepository requestRepository,
-                                 ServiceOfferRepository offerRepository) {
+    public BiddingCycleScheduler(ServiceRequestRepository requestRepository) {
         this.requestRepository = requestRepository;
-        this.offerRepository = offerRepository;
     }
 
-    // ✅ run frequently so "0 cycle demo" expires quickly
-    @Scheduled(fixedRate = 2_000) // every 2 seconds (demo-friendly)
-    public void expireRequestsIfNoOffers() {
+    /**
+     * ✅ Called by {@link BiddingDeadlineEngine} right after the windows closed (after the auto-pull),
+     * no more polling. Set-based: per chunk one UPDATE deactivates, one UPDATE ... NOT EXISTS expires
+     * the offer-less ones (instead of exists + save per request).
+     */
+    public ClosedBiddingWindows expireRequestsIfNoOffers(List<ServiceRequest> closed) {
 
         Instant now = Instant.now();
 
-        List<ServiceRequest> expiredCandidates =
-                requestRepository.findByBiddingActiveTrueAndBiddingEndAtBefore(now);
-
-        for (ServiceRequest req : expiredCandidates) {
-            boolean hasOffers = offerRepository.existsByServiceRequestId(req.getId());
-
-            req.setBiddingActive(false);
+        List<Long> ids = new ArrayList<>();
+        for (ServiceRequest req : closed) ids.add(req.getId());
 
-            if (!hasOffers) {
-                req.setStatus(RequestStatus.EXPIRED);
-            }
+        List<Long> closedIds = new ArrayList<>();
+        List<Long> expiredIds = new ArrayList<>();
 
-            requestRepository.save(req);
+        for (int from = 0; from < ids.size(); from += CHUNK) {
+            ClosedBiddingWindows chunk = requestRepository.closeBiddingWindows(
+                    ids.subList(from, Math.min(from + CHUNK, ids.size())), now);
+            closedIds.addAll(chunk.closedIds());
+            expiredIds.addAll(chunk.expiredIds());
+        }
 
-            System.out.println("[BiddingScheduler] Expired request " + req.getId() +
-                    " | offers=" + hasOffers +
-                    " | status=" + req.getStatus());
+        if (!closedIds.isEmpty()) {
+            System.out.println("[BiddingScheduler] Closed bidding for " + closedIds.size() + " requests"
+                    + " | expired (no offers)=" + expiredIds);
         }
+
+        return new ClosedBiddingWindows(closedIds, expiredIds);
     }
 }
@@ -0,0 +1,181 @@
+package edu.frau.service.Service.Management.service;
+
+import edu.frau.service.Service.Management.model.ServiceRequest;
+import edu.frau.service.Service.Management.repository.ServiceRequestRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ Fires when bidding windows close instead of polling the DB every 2 seconds.
+ * - biddingEndAt deadlines live in a DelayQueue, seeded from the DB at startup
+ *   and updated by approveForBidding / reactivateBidding ({@link BiddingWindowOpenedEvent})
+ * - One daemon thread sleeps until the next deadline, then runs pull-then-expire for every window due
+ * - No open windows -> no DB queries at all
+ * - Cluster mode ({@link SchedulerLeases}): every node tracks deadlines, but only the owner of a request's
+ *   shard runs it; the owner also picks up windows opened on other nodes (or left by a crashed one)
+ *   with a small "due soon" query per heartbeat
+ */
+@Component
+public class BiddingDeadlineEngine {
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final ServiceRequestRepository requestRepository;
+    private final ProviderOfferAutoPullScheduler autoPull;
+    private final BiddingCycleScheduler biddingCycle;
+    private final SchedulerLeases leases;
+    private final Duration reconcileHorizon;
+
+    private final DelayQueue<Deadline> queue = new DelayQueue<>();
+    // latest deadline per request; queue entries that don't match anymore are stale (window was reopened)
+    private final Map<Long, Instant> deadlines = new ConcurrentHashMap<>();
+
+    private volatile Thread worker;
+
+    public BiddingDeadlineEngine(ServiceRequestRepository requestRepository,
+                                 ProviderOfferAutoPullScheduler autoPull,
+                                 BiddingCycleScheduler biddingCycle,
+                                 SchedulerLeases leases,
+                                 @Value("${scheduler.cluster.heartbeatMillis:10000}") long heartbeatMillis) {
+        this.requestRepository = requestRepository;
+        this.autoPull = autoPull;
+        this.biddingCycle = biddingCycle;
+        this.leases = leases;
+        this.reconcileHorizon = Duration.ofMillis(heartbeatMillis * 2);
+    }
+
+    private record Deadline(Long requestId, Instant endAt) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Duration.between(Instant.now(), endAt));
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return endAt.compareTo(((Deadline) other).endAt);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int seeded = 0;
+        for (ServiceRequest req : requestRepository.findByBiddingActiveTrue()) {
+            if (req.getBiddingEndAt() == null) continue;
+            schedule(req.getId(), req.getBiddingEndAt());
+            seeded++;
+        }
+
+        Thread t = new Thread(this::run, "bidding-deadlines");
+        t.setDaemon(true);
+        worker = t;
+        t.start();
+
+        System.out.println("[BiddingDeadlines] Started with " + seeded + " open bidding windows");
+    }
+
+    @EventListener
+    public void onWindowOpened(BiddingWindowOpenedEvent event) {
+        schedule(event.requestId(), event.biddingEndAt());
+    }
+
+    public void schedule(Long requestId, Instant endAt) {
+        if (requestId == null || endAt == null) return;
+
+        Instant previous = deadlines.put(requestId, endAt);
+        if (endAt.equals(previous)) return; // already queued
+        queue.put(new Deadline(requestId, endAt));
+    }
+
+    /**
+     * Cluster mode only: windows of our shards closing before the next heartbeat (or already overdue)
+     * that this node hasn't heard of -> opened on another node, or the shard just failed over to us.
+     */
+    @Scheduled(initialDelayString = "${scheduler.cluster.heartbeatMillis:10000}",
+            fixedDelayString = "${scheduler.cluster.heartbeatMillis:10000}")
+    public void reconcile() {
+        if (!leases.isEnabled() || worker == null) return;
+
+        try {
+            Instant horizon = Instant.now().plus(reconcileHorizon);
+            for (ServiceRequest req : requestRepository.findByBiddingActiveTrueAndBiddingEndAtBefore(horizon)) {
+                if (leases.ownsRequest(req.getId())) schedule(req.getId(), req.getBiddingEndAt());
+            }
+        } catch (Exception e) {
+            System.out.println("[BiddingDeadlines] Reconcile failed -> " + e.getMessage());
+        }
+    }
+
+    public int pending() {
+        return deadlines.size();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread t = worker;
+        if (t != null) t.interrupt();
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                List<Deadline> due = new ArrayList<>();
+                due.add(queue.take());
+                queue.drainTo(due); // windows closing at the same moment are handled together
+                fire(due);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // Never kill the engine thread
+                System.out.println("[BiddingDeadlines] Unexpected error -> " + e.getMessage());
+            }
+        }
+    }
+
+    private void fire(List<Deadline> due) {
+        List<Long> ids = new ArrayList<>();
+        for (Deadline d : due) {
+            // not our shard -> its owner runs it (and finds it via reconcile)
+            if (deadlines.remove(d.requestId(), d.endAt()) && leases.ownsRequest(d.requestId())) {
+                ids.add(d.requestId());
+            }
+        }
+        if (ids.isEmpty()) return;
+
+        try {
+            // DB is the source of truth: skip windows closed manually or moved meanwhile
+            Instant now = Instant.now();
+            List<ServiceRequest> closed = new ArrayList<>();
+            for (ServiceRequest req : requestRepository.findAllById(ids)) {
+                if (Boolean.TRUE.equals(req.getBiddingActive())
+                        && req.getBiddingEndAt() != null
+                        && !req.getBiddingEndAt().isAfter(now)) {
+                    closed.add(req);
+                }
+            }
+            if (closed.isEmpty()) return;
+
+            autoPull.autoPullWhenCycleEnds(closed);
+            biddingCycle.expireRequestsIfNoOffers(closed);
+        } catch (Exception e) {
+            System.out.println("[BiddingDeadlines] Failed for " + ids + " -> " + e.getMessage() + " (retrying)");
+            Instant retryAt = Instant.now().plus(RETRY_DELAY);
+            for (Long id : ids) {
+                if (deadlines.putIfAbsent(id, retryAt) == null) queue.put(new Deadline(id, retryAt));
+            }
+        }
+    }
+}
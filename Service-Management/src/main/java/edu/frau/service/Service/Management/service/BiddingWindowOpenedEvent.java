@@ -0,0 +1,9 @@
+package edu.frau.service.Service.Management.service;
+
+import java.time.Instant;
+
+/**
+ * Published when a request's bidding window is (re)opened, so {@link BiddingDeadlineEngine} can track its end.
+ */
+public record BiddingWindowOpenedEvent(Long requestId, Instant biddingEndAt) {
+}
@@ -10,8 +10,13 @@ import java.util.List;
 public class DummyRequestService {
     private final String DUMMY_URL = "https://jsonplaceholder.typicode.com/posts";
 
+    private final RestTemplate rest;
+
+    public DummyRequestService(RestTemplate rest) {
+        this.rest = rest;
+    }
+
     public List<ServiceRequest> getDummyRequests() {
-        RestTemplate rest = new RestTemplate();
         Object[] posts = rest.getForObject(DUMMY_URL, Object[].class); // map later
         // convert as needed; simpler approach: fetch, map to ServiceRequest DTO manually if desired.
         return List.of(); // placeholder
@@ -1,10 +1,24 @@
 package edu.frau.service.Service.Management.service;
 
+import edu.frau.service.Service.Management.dto.NormalizedProject;
+import edu.frau.service.Service.Management.dto.NormalizedProjectRole;
+import edu.frau.service.Service.Management.integration.feed.ConditionalFeed;
+import edu.frau.service.Service.Management.integration.feed.FeedSnapshotCache;
+import edu.frau.service.Service.Management.integration.feed.FeedSnapshotFile;
+import edu.frau.service.Service.Management.integration.feed.FeedSnapshotStore;
+import edu.frau.service.Service.Management.integration.feed.JsonFeedReader;
+import edu.frau.service.Service.Management.integration.resilience.UpstreamGuards;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 @Service
 public class ExternalReferenceService {
@@ -18,77 +32,142 @@ public class ExternalReferenceService {
     private static final String CONTRACT_API =
             "https://69233a5309df4a492324c022.mockapi.io/Contracts";
 
-    private final RestTemplate restTemplate = new RestTemplate();
-
-    // ---------------- PROJECTS (RAW) ----------------
-
-    @SuppressWarnings("unchecked")
-    public Map<String, Object> getProjectsResponse() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        ResponseEntity<Object> response = restTemplate.exchange(
-                PROJECT_API,
-                HttpMethod.GET,
-                entity,
-                Object.class
+    private final JsonFeedReader feedReader;
+    private final UpstreamGuards guards;
+    private final FeedSnapshotStore snapshotStore;
+
+    // ✅ ETag / Last-Modified / content-hash change detection per feed
+    private final ConditionalFeed projectFeed;
+    private final ConditionalFeed contractFeed;
+
+    // ✅ last good snapshots, refreshed in the background (stale-while-revalidate)
+    private final FeedSnapshotCache<ProjectSnapshot> projectCache;
+    private final FeedSnapshotCache<ContractSnapshot> contractCache;
+
+    // ✅ short-lived "not found" memory so repeated bad contract ids don't force re-downloads
+    private final Map<String, Instant> contractMisses = new ConcurrentHashMap<>();
+    private final Duration contractMissTtl;
+
+    public ExternalReferenceService(
+            @Value("${external.projects.cacheSeconds:300}") long projectsCacheSeconds,
+            @Value("${external.contracts.cacheSeconds:300}") long contractsCacheSeconds,
+            @Value("${external.contracts.notFoundCacheSeconds:30}") long contractMissSeconds,
+            RestTemplate restTemplate,
+            JsonFeedReader feedReader,
+            UpstreamGuards guards,
+            FeedSnapshotStore snapshotStore
+    ) {
+        this.snapshotStore = snapshotStore;
+        this.guards = guards;
+        this.projectFeed = new ConditionalFeed(PROJECT_API, MediaType.APPLICATION_JSON, restTemplate);
+        this.contractFeed = new ConditionalFeed(CONTRACT_API, MediaType.APPLICATION_JSON, restTemplate);
+        this.feedReader = feedReader;
+        this.projectCache = new FeedSnapshotCache<>(
+                "projects", Duration.ofSeconds(projectsCacheSeconds),
+                () -> loadIfChanged(UpstreamGuards.PROJECTS, projectFeed, this::buildProjectSnapshot)
         );
+        this.contractCache = new FeedSnapshotCache<>(
+                "contracts", Duration.ofSeconds(contractsCacheSeconds),
+                () -> loadIfChanged(UpstreamGuards.CONTRACTS, contractFeed, this::buildContractSnapshot)
+        );
+        this.contractMissTtl = Duration.ofSeconds(contractMissSeconds);
 
-        Object body = response.getBody();
-        if (body == null) return Map.of("data", List.of());
+        restore(UpstreamGuards.PROJECTS, projectFeed, projectCache, this::buildProjectSnapshot);
+        restore(UpstreamGuards.CONTRACTS, contractFeed, contractCache, this::buildContractSnapshot);
+    }
 
-        if (body instanceof Map<?, ?> map) {
-            return (Map<String, Object>) map;
-        }
+    // ✅ Group-1 feed, normalized once per refresh + hash index over projectId / id / _id
+    private static final class ProjectSnapshot {
+        final List<Map<String, Object>> projects;
+        final Map<String, NormalizedProject> byId;
 
-        if (body instanceof List<?> list) {
-            Map<String, Object> wrapper = new LinkedHashMap<>();
-            wrapper.put("message", "ok");
-            wrapper.put("data", list);
-            return wrapper;
+        ProjectSnapshot(List<Map<String, Object>> projects, Map<String, NormalizedProject> byId) {
+            this.projects = Collections.unmodifiableList(projects);
+            this.byId = byId;
         }
-
-        return Map.of("data", List.of());
     }
 
-    @SuppressWarnings("unchecked")
-    public List<Map<String, Object>> getAllProjects() {
-        Map<String, Object> body = getProjectsResponse();
-        if (body == null) return List.of();
+    private ProjectSnapshot buildProjectSnapshot(List<Map<String, Object>> projects) {
+        Map<String, NormalizedProject> index = new HashMap<>();
+        for (Map<String, Object> p : projects) {
+            NormalizedProject norm = normalizeProject(p);
 
-        Object data = body.get("data");
-        if (data instanceof List<?> list) {
-            List<Map<String, Object>> out = new ArrayList<>();
-            for (Object o : list) {
-                if (o instanceof Map<?, ?> m) {
-                    out.add((Map<String, Object>) m);
+            // putIfAbsent keeps "first project in feed wins" (same as the old linear scan)
+            for (String key : List.of("projectId", "id", "_id")) {
+                Object v = p.get(key);
+                if (v != null) index.putIfAbsent(String.valueOf(v), norm);
+            }
+        }
+        return new ProjectSnapshot(projects, index);
+    }
+
+    // ✅ Group-2 contracts, normalized once per refresh + index over id / contractId / _id
+    private static final class ContractSnapshot {
+        final List<Map<String, Object>> contracts;
+        final Map<String, Map<String, Object>> byId;
+
+        ContractSnapshot(List<Map<String, Object>> contracts) {
+            Map<String, Map<String, Object>> index = new HashMap<>();
+            for (Map<String, Object> c : contracts) {
+                for (String key : List.of("id", "_id", "contractId")) {
+                    Object v = c.get(key);
+                    if (v != null) index.putIfAbsent(String.valueOf(v), c);
                 }
             }
-            return out;
+            this.contracts = Collections.unmodifiableList(contracts);
+            this.byId = index;
         }
-        return List.of();
+    }
+
+    private ContractSnapshot buildContractSnapshot(List<Map<String, Object>> rawContracts) {
+        return new ContractSnapshot(normalizeContracts(rawContracts));
+    }
+
+    // ---------------- BACKGROUND REFRESH ----------------
+
+    // warms both feeds at startup and keeps them fresh, so user requests never wait on a cold upstream
+    @Scheduled(initialDelay = 0, fixedDelayString = "${external.feeds.refreshCheckMillis:15000}")
+    public void refreshFeedsInBackground() {
+        projectCache.refreshIfStale();
+        contractCache.refreshIfStale();
+    }
+
+    public Map<String, Object> getFeedStatus() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("projects", mergeStats(projectCache.stats(), projectFeed.stats()));
+        out.put("contracts", mergeStats(contractCache.stats(), contractFeed.stats()));
+        return out;
+    }
+
+    // ---------------- PROJECTS (RAW) ----------------
+
+    public List<Map<String, Object>> getAllProjects() {
+        return projectCache.get().projects;
     }
 
     public Map<String, Object> getProject(String projectIdOrId) {
-        return getAllProjects().stream()
-                .filter(p ->
-                        projectIdOrId.equals(String.valueOf(p.get("projectId"))) ||
-                                projectIdOrId.equals(String.valueOf(p.get("id"))) ||
-                                projectIdOrId.equals(String.valueOf(p.get("_id")))
-                )
-                .findFirst()
-                .orElse(null);
+        NormalizedProject norm = getProjectNormalized(projectIdOrId);
+        return norm == null ? null : norm.raw();
     }
 
     // ---------------- PROJECTS (NORMALIZED FOR AUTOFILL) ----------------
 
-    public Map<String, Object> getProjectNormalized(String projectIdOrId) {
-        Map<String, Object> p = getProject(projectIdOrId);
-        if (p == null) return null;
+    public NormalizedProject getProjectNormalized(String projectIdOrId) {
+        if (projectIdOrId == null) return null;
+        return projectCache.get().byId.get(projectIdOrId);
+    }
 
-        Map<String, Object> out = new LinkedHashMap<>();
+    public List<NormalizedProjectRole> getProjectRoles(String projectIdOrId) {
+        NormalizedProject norm = getProjectNormalized(projectIdOrId);
+        return norm == null ? List.of() : norm.roles();
+    }
 
+    public List<String> getProjectLocations(String projectIdOrId) {
+        NormalizedProject norm = getProjectNormalized(projectIdOrId);
+        return norm == null ? List.of() : norm.locations();
+    }
+
+    private NormalizedProject normalizeProject(Map<String, Object> p) {
         String projectId = firstNonBlank(
                 asString(p.get("projectId")),
                 asString(p.get("id")),
@@ -124,115 +203,67 @@ public class ExternalReferenceService {
                 asString(p.get("projectEnd"))
         );
 
-        // ✅ FIX: your payload uses selectedLocations
-        List<String> locations = extractLocations(p);
-
-        // ✅ FIX: your payload uses roles[].requiredRole + roles[].requiredCompetencies
-        List<Map<String, Object>> roles = extractRoles(p);
-
-        // ✅ FIX: your payload uses selectedSkills
-        List<String> skills = extractSkills(p);
-
-        out.put("projectId", projectId);
-        out.put("projectName", projectName);
-        out.put("title", title);
-        out.put("startDate", startDate);
-        out.put("endDate", endDate);
-        out.put("locations", locations);
-        out.put("roles", roles);
-        out.put("skills", skills);
-
-        out.put("raw", p);
-        return out;
+        return new NormalizedProject(
+                projectId,
+                projectName,
+                title,
+                startDate,
+                endDate,
+                // ✅ FIX: your payload uses selectedLocations
+                List.copyOf(extractLocations(p)),
+                // ✅ FIX: your payload uses roles[].requiredRole + roles[].requiredCompetencies
+                List.copyOf(extractRoles(p)),
+                // ✅ FIX: your payload uses selectedSkills
+                List.copyOf(extractSkills(p)),
+                Collections.unmodifiableMap(p)
+        );
     }
 
-    public List<Map<String, Object>> getProjectRoles(String projectIdOrId) {
-        Map<String, Object> norm = getProjectNormalized(projectIdOrId);
-        if (norm == null) return List.of();
-        Object roles = norm.get("roles");
-        if (roles instanceof List<?> list) {
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> cast = (List<Map<String, Object>>) roles;
-            return cast;
-        }
-        return List.of();
+    // ---------------- CONTRACTS (Group-2) ----------------
+    // ✅ wrapper-safe + normalized fields for frontend
+
+    public List<Map<String, Object>> getAllContracts() {
+        return contractCache.get().contracts;
     }
 
-    public List<String> getProjectLocations(String projectIdOrId) {
-        Map<String, Object> norm = getProjectNormalized(projectIdOrId);
-        if (norm == null) return List.of();
-        Object loc = norm.get("locations");
-        if (loc instanceof List<?> list) {
-            List<String> out = new ArrayList<>();
-            for (Object o : list) out.add(String.valueOf(o));
-            return out;
+    private List<Map<String, Object>> normalizeContracts(List<Map<String, Object>> items) {
+        List<Map<String, Object>> out = new ArrayList<>();
+        for (Map<String, Object> raw : items) {
+            out.add(Collections.unmodifiableMap(normalizeContract(raw)));
         }
-        return List.of();
+        return out;
     }
 
-    // ---------------- CONTRACTS (Group-2) ----------------
-    // ✅ wrapper-safe + normalized fields for frontend
+    public Map<String, Object> getContract(String contractIdOrRefOrMongoId) {
+        if (contractIdOrRefOrMongoId == null) return null;
+        String key = contractIdOrRefOrMongoId;
 
-    @SuppressWarnings("unchecked")
-    public Map<String, Object> getContractsResponse() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        ResponseEntity<Object> response = restTemplate.exchange(
-                CONTRACT_API,
-                HttpMethod.GET,
-                entity,
-                Object.class
-        );
+        Map<String, Object> hit = contractCache.get().byId.get(key);
+        if (hit != null) return hit;
 
-        Object body = response.getBody();
-        if (body == null) return Map.of("data", List.of());
+        // recently confirmed missing -> answer from memory
+        Instant missUntil = contractMisses.get(key);
+        if (missUntil != null && Instant.now().isBefore(missUntil)) return null;
 
-        // case 1: wrapper map: { success, data: [...] }
-        if (body instanceof Map<?, ?> map) {
-            return (Map<String, Object>) map;
+        // the contract may have been created after our snapshot: refresh once, then remember the miss
+        try {
+            contractCache.refresh();
+        } catch (RuntimeException ignored) {
+            // upstream down -> keep answering from the last good snapshot
         }
 
-        // case 2: raw list
-        if (body instanceof List<?> list) {
-            Map<String, Object> wrapper = new LinkedHashMap<>();
-            wrapper.put("success", true);
-            wrapper.put("data", list);
-            return wrapper;
+        hit = contractCache.get().byId.get(key);
+        if (hit != null) {
+            contractMisses.remove(key);
+            return hit;
         }
 
-        return Map.of("data", List.of());
-    }
-
-    @SuppressWarnings("unchecked")
-    public List<Map<String, Object>> getAllContracts() {
-        Map<String, Object> body = getContractsResponse();
-        if (body == null) return List.of();
-
-        Object data = body.get("data");
-        if (!(data instanceof List<?> list)) return List.of();
-
-        List<Map<String, Object>> out = new ArrayList<>();
-        for (Object o : list) {
-            if (o instanceof Map<?, ?> m) {
-                Map<String, Object> raw = (Map<String, Object>) m;
-                out.add(normalizeContract(raw));
-            }
+        Instant now = Instant.now();
+        if (contractMisses.size() > 1_000) {
+            contractMisses.values().removeIf(until -> !now.isBefore(until));
         }
-        return out;
-    }
-
-    public Map<String, Object> getContract(String contractIdOrRefOrMongoId) {
-        // ✅ safest: filter from all (works even if /{id} endpoint doesn’t exist)
-        return getAllContracts().stream()
-                .filter(c ->
-                        contractIdOrRefOrMongoId.equals(String.valueOf(c.get("id"))) ||
-                                contractIdOrRefOrMongoId.equals(String.valueOf(c.get("_id"))) ||
-                                contractIdOrRefOrMongoId.equals(String.valueOf(c.get("contractId")))
-                )
-                .findFirst()
-                .orElse(null);
+        contractMisses.put(key, now.plus(contractMissTtl));
+        return null;
     }
 
     // ✅ Normalization so frontend always has:
@@ -305,6 +336,56 @@ public class ExternalReferenceService {
         return out;
     }
 
+    // ---------------- feed download ----------------
+
+    // ✅ streams the body straight from the socket into item maps (list or { data: [...] } wrapper);
+    // 304 / same content hash -> null, cache keeps its snapshot. Otherwise builds the new snapshot.
+    // while the upstream's circuit is open this fails fast and the cache keeps its last snapshot
+    private <S> S loadIfChanged(String upstream, ConditionalFeed feed, Function<List<Map<String, Object>>, S> build) {
+        ConditionalFeed.Payload<List<Map<String, Object>>> payload =
+                guards.get(upstream).call(() -> feed.fetchIfChanged(feedReader::readItems));
+        if (payload == null) return null;
+
+        List<Map<String, Object>> items = payload.value();
+        S snapshot = build.apply(items);
+
+        feed.markApplied(payload);
+        persist(upstream, feed, items);
+        return snapshot;
+    }
+
+    // ✅ warm start: last good snapshot from disk, served until the background refresh replaces it
+    private <S> void restore(String upstream, ConditionalFeed feed, FeedSnapshotCache<S> cache,
+                             Function<List<Map<String, Object>>, S> build) {
+        FeedSnapshotFile file = snapshotStore.load(upstream);
+        if (file == null || file.items == null) return;
+
+        try {
+            cache.prime(build.apply(file.items), Instant.ofEpochMilli(file.savedAt));
+            feed.restore(file.etag, file.lastModified, file.contentHash);
+            System.out.println("[ExternalRef] Restored " + file.items.size() + " " + upstream
+                    + " from disk snapshot (saved " + Instant.ofEpochMilli(file.savedAt) + ")");
+        } catch (RuntimeException e) {
+            System.out.println("[ExternalRef] Ignoring " + upstream + " disk snapshot -> " + e.getMessage());
+        }
+    }
+
+    private void persist(String upstream, ConditionalFeed feed, List<Map<String, Object>> items) {
+        FeedSnapshotFile file = new FeedSnapshotFile();
+        file.savedAt = System.currentTimeMillis();
+        file.etag = feed.etag();
+        file.lastModified = feed.lastModified();
+        file.contentHash = feed.contentHash();
+        file.items = items;
+        snapshotStore.save(upstream, file);
+    }
+
+    private Map<String, Object> mergeStats(Map<String, Object> cacheStats, Map<String, Object> feedStats) {
+        Map<String, Object> out = new LinkedHashMap<>(cacheStats);
+        out.putAll(feedStats);
+        return out;
+    }
+
     // ---------------- small safe helpers ----------------
 
     private String asString(Object o) {
@@ -369,7 +450,7 @@ public class ExternalReferenceService {
     }
 
     @SuppressWarnings("unchecked")
-    private List<Map<String, Object>> extractRoles(Map<String, Object> p) {
+    private List<NormalizedProjectRole> extractRoles(Map<String, Object> p) {
         Object rolesObj = firstNonNull(
                 p.get("roles"),
                 p.get("requestedRoles"),
@@ -377,75 +458,63 @@ public class ExternalReferenceService {
                 p.get("staffing")
         );
 
-        // ✅ helper to normalize each role object into what frontend expects
-        // frontend expects: roleName + competencies + manDays (optional) etc.
-        java.util.function.Function<Map<String, Object>, Map<String, Object>> normalizeRole = (rawRole) -> {
-            Map<String, Object> out = new LinkedHashMap<>(rawRole);
-
-            // ✅ key mapping for your payload
-            String roleName = firstNonBlank(
-                    asString(rawRole.get("roleName")),
-                    asString(rawRole.get("requiredRole")),
-                    asString(rawRole.get("name")),
-                    asString(rawRole.get("role"))
-            );
-            out.put("roleName", roleName);
-
-            Object compsObj = firstNonNull(
-                    rawRole.get("competencies"),
-                    rawRole.get("requiredCompetencies"),
-                    rawRole.get("skills"),
-                    rawRole.get("technology")
-            );
-
-            List<String> competencies = new ArrayList<>();
-            if (compsObj instanceof List<?> clist) {
-                for (Object c : clist) {
-                    if (c == null) continue;
-                    String s = String.valueOf(c).trim();
-                    if (!s.isBlank()) competencies.add(s);
-                }
-            } else if (compsObj != null) {
-                String s = String.valueOf(compsObj).trim();
-                if (!s.isBlank()) competencies.add(s);
-            }
-            out.put("competencies", competencies);
-
-            // ✅ map capacity -> manDays (best-fit for your schema)
-            Integer manDays = toIntSafe(firstNonNull(rawRole.get("manDays"), rawRole.get("capacity")));
-            if (manDays != null) out.put("manDays", manDays);
-
-            // ✅ numberOfEmployees -> headcount (optional but useful)
-            Integer headcount = toIntSafe(firstNonNull(rawRole.get("headcount"), rawRole.get("numberOfEmployees")));
-            if (headcount != null) out.put("headcount", headcount);
-
-            return out;
-        };
-
         if (rolesObj instanceof List<?> list) {
-            List<Map<String, Object>> out = new ArrayList<>();
+            List<NormalizedProjectRole> out = new ArrayList<>();
             for (Object o : list) {
                 if (o instanceof Map<?, ?> m) {
-                    out.add(normalizeRole.apply((Map<String, Object>) m));
+                    out.add(normalizeRole((Map<String, Object>) m));
                 } else if (o != null) {
-                    Map<String, Object> roleMap = new LinkedHashMap<>();
-                    roleMap.put("roleName", String.valueOf(o));
-                    roleMap.put("competencies", List.of());
-                    out.add(roleMap);
+                    out.add(new NormalizedProjectRole(String.valueOf(o), List.of(), null, null));
                 }
             }
             return out;
         }
 
         if (rolesObj instanceof Map<?, ?> map) {
-            List<Map<String, Object>> out = new ArrayList<>();
-            out.add(normalizeRole.apply((Map<String, Object>) map));
-            return out;
+            return List.of(normalizeRole((Map<String, Object>) map));
         }
 
         return List.of();
     }
 
+    // ✅ normalize each role object into what frontend expects
+    private NormalizedProjectRole normalizeRole(Map<String, Object> rawRole) {
+        // ✅ key mapping for your payload
+        String roleName = firstNonBlank(
+                asString(rawRole.get("roleName")),
+                asString(rawRole.get("requiredRole")),
+                asString(rawRole.get("name")),
+                asString(rawRole.get("role"))
+        );
+
+        Object compsObj = firstNonNull(
+                rawRole.get("competencies"),
+                rawRole.get("requiredCompetencies"),
+                rawRole.get("skills"),
+                rawRole.get("technology")
+        );
+
+        List<String> competencies = new ArrayList<>();
+        if (compsObj instanceof List<?> clist) {
+            for (Object c : clist) {
+                if (c == null) continue;
+                String s = String.valueOf(c).trim();
+                if (!s.isBlank()) competencies.add(s);
+            }
+        } else if (compsObj != null) {
+            String s = String.valueOf(compsObj).trim();
+            if (!s.isBlank()) competencies.add(s);
+        }
+
+        // ✅ map capacity -> manDays (best-fit for your schema)
+        Integer manDays = toIntSafe(firstNonNull(rawRole.get("manDays"), rawRole.get("capacity")));
+
+        // ✅ numberOfEmployees -> headcount (optional but useful)
+        Integer headcount = toIntSafe(firstNonNull(rawRole.get("headcount"), rawRole.get("numberOfEmployees")));
+
+        return new NormalizedProjectRole(roleName, List.copyOf(competencies), manDays, headcount);
+    }
+
     @SuppressWarnings("unchecked")
     private List<String> extractSkills(Map<String, Object> p) {
         // ✅ FIX: support selectedSkills (your payload)
@@ -1,6 +1,7 @@
 package edu.frau.service.Service.Management.service;
 
 import edu.frau.service.Service.Management.dto.OfferEvaluationDTO;
+import edu.frau.service.Service.Management.model.ServiceOffer;
 
 import java.util.List;
 
@@ -9,4 +10,7 @@ public interface OfferEvaluationService {
     List<OfferEvaluationDTO> getEvaluationsForRequest(Long requestId);
 
     List<OfferEvaluationDTO> computeEvaluationsForRequest(Long requestId, String computedBy);
+
+    // score just-saved offers of a request without recomputing the others (falls back to a full recompute if needed)
+    void evaluateNewOffers(Long requestId, List<ServiceOffer> newOffers, String computedBy);
 }
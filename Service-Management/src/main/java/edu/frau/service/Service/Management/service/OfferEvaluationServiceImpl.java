@@ -47,12 +47,17 @@ public class OfferEvaluationServiceImpl implements OfferEvaluationService {
      * - @Transactional makes delete/save atomic
      * - Upsert per offer_id (update if exists, insert if not)
      * - PESSIMISTIC lock prevents double-click/concurrent duplicate insert
+     *
+     * Constant round trips regardless of the number of bids:
+     * - request row locked (concurrent recomputes of one request run one after another, also for first inserts)
+     * - ONE select-for-update of all evaluation rows of the request, joined to the offers in memory
+     * - changed rows flushed as JDBC batches at commit, ranking built from the rows we already have
      */
     @Override
     @Transactional
     public List<OfferEvaluationDTO> computeEvaluationsForRequest(Long requestId, String computedBy) {
 
-        ServiceRequest req = requestRepository.findById(requestId)
+        ServiceRequest req = requestRepository.findWithLockById(requestId)
                 .orElseThrow(() -> new IllegalArgumentException("Request not found: " + requestId));
 
         // Load offers already in DB for that request
@@ -66,60 +71,170 @@ public class OfferEvaluationServiceImpl implements OfferEvaluationService {
         // ✅ IMPORTANT:
         // Remove the "delete then insert" pattern (can race & break unique constraint).
         // Instead we update existing rows (per offer_id) or create if missing.
+        Map<Long, OfferEvaluation> existing = new HashMap<>();
+        for (OfferEvaluation e : evaluationRepository.findAllWithLockByServiceRequestId(requestId)) {
+            existing.put(e.getServiceOffer().getId(), e);
+        }
+
         List<OfferEvaluation> evals = new ArrayList<>();
+        List<OfferEvaluation> created = new ArrayList<>();
+        Instant now = Instant.now();
 
         // 1) compute eligibility + techScore first
         for (ServiceOffer offer : offers) {
 
-            // ✅ lock the evaluation row (if it exists) to prevent concurrent inserts
-            OfferEvaluation row = evaluationRepository
-                    .findWithLockByServiceOfferId(offer.getId())
-                    .orElseGet(OfferEvaluation::new);
+            OfferEvaluation row = existing.get(offer.getId());
+            if (row == null) {
+                row = new OfferEvaluation();
+                created.add(row);
+            }
 
             row.setServiceRequest(req);
             row.setServiceOffer(offer);
 
-            row.setComputedAt(Instant.now());
+            row.setComputedAt(now);
             row.setComputedBy(computedBy);
             row.setAlgorithmVersion(ALGO_VERSION);
 
             // always reset recommendation on recompute
             row.setRecommended(false);
 
-            GateResult gate = gateOffer(offer);
-            row.setEligible(gate.eligible);
-            row.setDisqualificationReason(gate.reason);
-
-            if (!gate.eligible) {
-                row.setTechScore(0);
-                row.setCommercialScore(0);
-                row.setFinalScore(0);
-                row.setBreakdownJson(toJson(Map.of(
-                        "eligible", false,
-                        "reason", gate.reason
-                )));
-                evals.add(row);
-                continue;
+            scoreGateAndTech(row, offer);
+            evals.add(row);
+        }
+
+        // 2) compute commercial score (needs min total cost among eligible)
+        applyCommercial(evals, minEligibleCost(evals).orElse(0));
+
+        // 3) mark recommended = top finalScore (eligible only)
+        evals.stream()
+                .filter(OfferEvaluation::isEligible)
+                .max(recommendationOrder())
+                .ifPresent(b -> b.setRecommended(true));
+
+        // ✅ existing rows are managed -> dirty-checked and flushed in batches; only new ones need saving
+        evaluationRepository.saveAll(created);
+
+        // same order as findByServiceRequestIdOrderByFinalScoreDesc, without reading the rows back
+        evals.sort(recommendationOrder().reversed());
+        return toDtoWithRank(evals);
+    }
+
+    /**
+     * ✅ Incremental scoring when bids arrive (addOffer / public bids / provider pull):
+     * - gate + tech only for the new offers
+     * - other offers' commercial scores are only rescaled when the request's minCost drops
+     * - recommended flag: new offers are compared against the current best only
+     * Falls back to a full recompute when the stored rows don't match the offers (never evaluated / out of sync).
+     */
+    @Override
+    @Transactional
+    public void evaluateNewOffers(Long requestId, List<ServiceOffer> newOffers, String computedBy) {
+        if (newOffers == null || newOffers.isEmpty()) return;
+
+        // same lock as computeEvaluationsForRequest -> incremental and full runs never interleave
+        ServiceRequest req = requestRepository.findWithLockById(requestId)
+                .orElseThrow(() -> new IllegalArgumentException("Request not found: " + requestId));
+
+        long evaluated = evaluationRepository.countByServiceRequestId(requestId);
+        long offers = offerRepository.countByServiceRequestId(requestId);
+        if (evaluated != offers - newOffers.size()) {
+            computeEvaluationsForRequest(requestId, computedBy);
+            return;
+        }
+
+        Instant now = Instant.now();
+        List<OfferEvaluation> added = new ArrayList<>();
+
+        for (ServiceOffer offer : newOffers) {
+            OfferEvaluation row = new OfferEvaluation();
+            row.setServiceRequest(req);
+            row.setServiceOffer(offer);
+
+            row.setComputedAt(now);
+            row.setComputedBy(computedBy);
+            row.setAlgorithmVersion(ALGO_VERSION);
+            row.setRecommended(false);
+
+            scoreGateAndTech(row, offer);
+            added.add(row);
+        }
+
+        // null = no eligible row yet; 0 is a real minimum (a zero-cost bid -> every commercial score is 0)
+        Double stored = evaluationRepository.findMinEligibleCost(requestId);
+        OptionalDouble addedMin = minEligibleCost(added);
+        double minCost;
+        if (stored == null) minCost = addedMin.orElse(0);
+        else minCost = addedMin.isPresent() ? Math.min(stored, addedMin.getAsDouble()) : stored;
+
+        if (stored != null && minCost != stored) {
+            // cheaper bid -> every commercial score moves and the ranking may change: rescale all rows
+            offerRepository.findByServiceRequestId(requestId); // offers into the persistence context (no N+1 below)
+            List<OfferEvaluation> all = new ArrayList<>(evaluationRepository.findAllWithLockByServiceRequestId(requestId));
+            all.addAll(added);
+
+            applyCommercial(all, minCost);
+            all.forEach(e -> e.setRecommended(false));
+            all.stream()
+                    .filter(OfferEvaluation::isEligible)
+                    .max(recommendationOrder())
+                    .ifPresent(b -> b.setRecommended(true));
+        } else {
+            applyCommercial(added, minCost);
+
+            OfferEvaluation current = evaluationRepository
+                    .findFirstByServiceRequestIdAndRecommendedTrue(requestId)
+                    .orElse(null);
+
+            OfferEvaluation best = current;
+            for (OfferEvaluation e : added) {
+                if (e.isEligible() && (best == null || recommendationOrder().compare(e, best) > 0)) best = e;
             }
 
-            TechResult tech = computeTech(offer);
-            row.setTechScore(tech.techScore);
-            row.setBreakdownJson(toJson(tech.breakdown));
+            if (best != current) {
+                if (current != null) current.setRecommended(false);
+                best.setRecommended(true);
+            }
+        }
+
+        evaluationRepository.saveAll(added);
+    }
+
+    // gate + technical part of one offer (commercial / final are set once minCost is known)
+    private void scoreGateAndTech(OfferEvaluation row, ServiceOffer offer) {
+        GateResult gate = gateOffer(offer);
+        row.setEligible(gate.eligible);
+        row.setDisqualificationReason(gate.reason);
 
-            // commercial + final will be computed after we know minCost
+        if (!gate.eligible) {
+            row.setTechScore(0);
             row.setCommercialScore(0);
             row.setFinalScore(0);
-
-            evals.add(row);
+            row.setBreakdownJson(toJson(Map.of(
+                    "eligible", false,
+                    "reason", gate.reason
+            )));
+            return;
         }
 
-        // 2) compute commercial score (needs min total cost among eligible)
-        double minCost = evals.stream()
+        TechResult tech = computeTech(offer);
+        row.setTechScore(tech.techScore);
+        row.setBreakdownJson(toJson(tech.breakdown));
+
+        // commercial + final will be computed after we know minCost
+        row.setCommercialScore(0);
+        row.setFinalScore(0);
+    }
+
+    // empty = no eligible offer
+    private OptionalDouble minEligibleCost(List<OfferEvaluation> evals) {
+        return evals.stream()
                 .filter(OfferEvaluation::isEligible)
                 .mapToDouble(e -> safeTotalCost(e.getServiceOffer()))
-                .min()
-                .orElse(0);
+                .min();
+    }
 
+    private void applyCommercial(List<OfferEvaluation> evals, double minCost) {
         for (OfferEvaluation e : evals) {
             if (!e.isEligible()) continue;
 
@@ -136,22 +251,12 @@ public class OfferEvaluationServiceImpl implements OfferEvaluationService {
             double finalScore = e.getTechScore() * TECH_WEIGHT + e.getCommercialScore() * COMM_WEIGHT;
             e.setFinalScore(round2(finalScore));
         }
+    }
 
-        // 3) mark recommended = top finalScore (eligible only)
-        Optional<OfferEvaluation> best = evals.stream()
-                .filter(OfferEvaluation::isEligible)
-                .max(Comparator.comparingDouble(OfferEvaluation::getFinalScore)
-                        .thenComparingDouble(OfferEvaluation::getTechScore)
-                        .thenComparingDouble(x -> -safeTotalCost(x.getServiceOffer())));
-
-        best.ifPresent(b -> b.setRecommended(true));
-
-        // ✅ save updates/inserts safely
-        evaluationRepository.saveAll(evals);
-
-        return toDtoWithRank(
-                evaluationRepository.findByServiceRequestIdOrderByFinalScoreDesc(requestId)
-        );
+    private Comparator<OfferEvaluation> recommendationOrder() {
+        return Comparator.comparingDouble(OfferEvaluation::getFinalScore)
+                .thenComparingDouble(OfferEvaluation::getTechScore)
+                .thenComparingDouble(x -> -safeTotalCost(x.getServiceOffer()));
     }
 
     // ---------------- scoring helpers ----------------
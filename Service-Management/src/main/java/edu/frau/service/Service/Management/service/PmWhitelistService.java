@@ -1,7 +1,14 @@
 package edu.frau.service.Service.Management.service;
 
+import java.io.InputStream;
+import java.util.Map;
+
 public interface PmWhitelistService {
     boolean isValidProjectManager(String email, String firstName, String lastName);
 
     int importFromXml(String xml);
+
+    int importWhitelist(InputStream in);
+
+    Map<String, Object> feedStatus();
 }
@@ -1,200 +1,166 @@
 package edu.frau.service.Service.Management.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.frau.service.Service.Management.dto.PmRecord;
+import edu.frau.service.Service.Management.integration.feed.ConditionalFeed;
+import edu.frau.service.Service.Management.integration.feed.EmployeeFeedParser;
+import edu.frau.service.Service.Management.integration.feed.FeedSnapshotCache;
+import edu.frau.service.Service.Management.integration.resilience.UpstreamGuards;
+import edu.frau.service.Service.Management.repository.AllowedProjectManagerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
-import org.w3c.dom.*;
-import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
 
 @Service
 public class PmWhitelistServiceImpl implements PmWhitelistService {
 
-    private static final String EMPLOYEE_URL =
-            "https://workforcemangementtool.onrender.com/api/employees";
+    private static final String FEED_NAME = "employees";
+
+    private final UpstreamGuards guards;
+    private final ConditionalFeed employeeFeed;
+    private final EmployeeFeedParser feedParser;
+    private final AllowedProjectManagerRepository allowedRepo;
+    private final int importBatchSize;
+
+    // ✅ PROJECT_MANAGER entries by email, parsed once per employees.feed.cacheSeconds window.
+    // stale-while-revalidate: validations never wait on the feed once it was loaded.
+    // Deliberately not restored from disk: an authorization list must come from the live feed
+    // (or the imported allowed_project_managers table), never from a local file of unknown age.
+    private final FeedSnapshotCache<Map<String, PmRecord>> pmCache;
+
+    public PmWhitelistServiceImpl(
+            @Value("${employees.feed.url:https://workforcemangementtool.onrender.com/api/employees}") String feedUrl,
+            @Value("${employees.feed.cacheSeconds:300}") long cacheSeconds,
+            @Value("${pm.import.batchSize:1000}") int importBatchSize,
+            RestTemplate restTemplate,
+            UpstreamGuards guards,
+            EmployeeFeedParser feedParser,
+            AllowedProjectManagerRepository allowedRepo
+    ) {
+        this.feedParser = feedParser;
+        this.allowedRepo = allowedRepo;
+        this.importBatchSize = Math.max(1, importBatchSize);
+        this.guards = guards;
+        this.employeeFeed = new ConditionalFeed(feedUrl, MediaType.ALL, restTemplate);
+        this.pmCache = new FeedSnapshotCache<>(FEED_NAME, Duration.ofSeconds(cacheSeconds), this::loadIfChanged);
+    }
 
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    // keeps the index fresh in the background, so PM registration never pays for the download
+    @Scheduled(initialDelay = 0, fixedDelayString = "${external.feeds.refreshCheckMillis:15000}")
+    public void refreshInBackground() {
+        pmCache.refreshIfStale();
+    }
 
     @Override
     public boolean isValidProjectManager(String email, String firstName, String lastName) {
         if (email == null || email.isBlank()) return false;
         String normEmail = email.trim().toLowerCase();
 
-        try {
-            String body = restTemplate.getForObject(EMPLOYEE_URL, String.class);
-            if (body == null || body.isBlank()) return false;
-
-            String trimmed = body.trim();
-
-            // ✅ If response looks like XML
-            if (trimmed.startsWith("<")) {
-                return checkXml(trimmed, normEmail, firstName, lastName);
-            }
+        // ✅ imported whitelist (local table) first, then the cached employee feed index
+        PmRecord pm = allowedRepo.findByEmail(normEmail)
+                .map(a -> new PmRecord(a.getEmail(), a.getFirstName(), a.getLastName()))
+                .orElseGet(() -> fromFeed(normEmail));
+        if (pm == null) return false;
 
-            // ✅ If response looks like JSON (fallback)
-            if (trimmed.startsWith("[") || trimmed.startsWith("{")) {
-                return checkJson(trimmed, normEmail, firstName, lastName);
-            }
+        // Optional name check if provided (you said email alone is enough, so we pass nulls)
+        boolean firstOk = (firstName == null || firstName.isBlank())
+                || firstName.trim().equalsIgnoreCase(pm.firstName());
 
-            // unknown format
-            return false;
+        boolean lastOk = (lastName == null || lastName.isBlank())
+                || lastName.trim().equalsIgnoreCase(pm.lastName());
 
-        } catch (Exception e) {
-            // External service down or format mismatch -> secure default: block PM
-            return false;
-        }
+        return firstOk && lastOk;
     }
 
-    private boolean checkXml(String xml, String normEmail, String firstName, String lastName) {
+    private PmRecord fromFeed(String normEmail) {
         try {
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            dbf.setNamespaceAware(false);
-            Document doc = dbf.newDocumentBuilder()
-                    .parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
-            doc.getDocumentElement().normalize();
-
-            NodeList items = doc.getElementsByTagName("item");
-
-            for (int i = 0; i < items.getLength(); i++) {
-                Element item = (Element) items.item(i);
-
-                String role = getText(item, "role");
-                String empEmail = getText(item, "email");
-                if (empEmail == null) continue;
-
-                boolean emailMatch = normEmail.equals(empEmail.trim().toLowerCase());
-                boolean roleMatch = "PROJECT_MANAGER".equalsIgnoreCase(role);
-
-                if (!emailMatch || !roleMatch) continue;
-
-                // Optional name check if provided (you said email alone is enough, so we pass nulls)
-                if ((firstName != null && !firstName.isBlank()) ||
-                        (lastName != null && !lastName.isBlank())) {
-
-                    String empFirst = getText(item, "firstName");
-                    String empLast = getText(item, "lastName");
-
-                    boolean firstOk = (firstName == null || firstName.isBlank())
-                            || firstName.trim().equalsIgnoreCase(empFirst);
-
-                    boolean lastOk = (lastName == null || lastName.isBlank())
-                            || lastName.trim().equalsIgnoreCase(empLast);
-
-                    return firstOk && lastOk;
-                }
-
-                return true;
-            }
-            return false;
-        } catch (Exception ex) {
-            return false;
+            return pmCache.get().get(normEmail);
+        } catch (Exception e) {
+            // no snapshot yet and external service down -> secure default: block PM
+            return null;
         }
     }
 
-    private boolean checkJson(String json, String normEmail, String firstName, String lastName) {
-        try {
-            JsonNode root = objectMapper.readTree(json);
-
-            // sometimes it could be { "data": [...] } or just [...]
-            JsonNode arr = root.isArray() ? root : root.get("data");
-            if (arr == null || !arr.isArray()) return false;
-
-            for (JsonNode item : arr) {
-                String role = safeText(item.get("role"));
-                String empEmail = safeText(item.get("email"));
-
-                if (empEmail == null) continue;
-
-                boolean emailMatch = normEmail.equals(empEmail.trim().toLowerCase());
-                boolean roleMatch = "PROJECT_MANAGER".equalsIgnoreCase(role);
-
-                if (!emailMatch || !roleMatch) continue;
+    @Override
+    public Map<String, Object> feedStatus() {
+        Map<String, Object> out = new LinkedHashMap<>(pmCache.stats());
+        out.putAll(employeeFeed.stats());
+        return out;
+    }
 
-                // optional name check if provided
-                if ((firstName != null && !firstName.isBlank()) ||
-                        (lastName != null && !lastName.isBlank())) {
+    // ---------------- FEED LOADING ----------------
 
-                    String empFirst = safeText(item.get("firstName"));
-                    String empLast = safeText(item.get("lastName"));
+    // null = feed unchanged (304 / same hash) -> cache keeps the current index
+    private Map<String, PmRecord> loadIfChanged() {
+        ConditionalFeed.Payload<Map<String, PmRecord>> payload = guards.get(UpstreamGuards.EMPLOYEES)
+                .call(() -> employeeFeed.fetchIfChanged(this::parseProjectManagers));
+        if (payload == null) return null;
 
-                    boolean firstOk = (firstName == null || firstName.isBlank())
-                            || firstName.trim().equalsIgnoreCase(empFirst);
+        Map<String, PmRecord> pms = payload.value();
 
-                    boolean lastOk = (lastName == null || lastName.isBlank())
-                            || lastName.trim().equalsIgnoreCase(empLast);
+        employeeFeed.markApplied(payload);
+        System.out.println("[PmWhitelist] Indexed " + pms.size() + " project managers");
+        return pms;
+    }
 
-                    return firstOk && lastOk;
-                }
+    private Map<String, PmRecord> parseProjectManagers(InputStream body) throws IOException {
+        Map<String, PmRecord> pms = new HashMap<>();
+        feedParser.parse(body, e -> addIfProjectManager(pms, e));
+        return Collections.unmodifiableMap(pms);
+    }
 
-                return true;
-            }
+    // first PM entry per email wins (same as the old linear scan)
+    private void addIfProjectManager(Map<String, PmRecord> pms, EmployeeFeedParser.Employee e) {
+        if (e.email() == null || !e.isProjectManager()) return;
 
-            return false;
-        } catch (Exception ex) {
-            return false;
-        }
+        String normEmail = e.email().trim().toLowerCase();
+        pms.putIfAbsent(normEmail, new PmRecord(normEmail, e.firstName(), e.lastName()));
     }
 
     @Override
     public int importFromXml(String xml) {
         if (xml == null || xml.isBlank()) return 0;
+        return importWhitelist(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Streams the export (XML or JSON) and upserts every PROJECT_MANAGER into allowed_project_managers.
+     * Not transactional on purpose: each chunk of pm.import.batchSize rows is its own JDBC-batched transaction.
+     */
+    @Override
+    public int importWhitelist(InputStream in) {
+        List<PmRecord> chunk = new ArrayList<>(importBatchSize);
+        int[] imported = {0};
+        long start = System.nanoTime();
 
         try {
-            String trimmed = xml.trim();
-
-            // count PMs for XML input
-            if (trimmed.startsWith("<")) {
-                DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-                dbf.setNamespaceAware(false);
-                Document doc = dbf.newDocumentBuilder()
-                        .parse(new ByteArrayInputStream(trimmed.getBytes(StandardCharsets.UTF_8)));
-                doc.getDocumentElement().normalize();
-
-                NodeList items = doc.getElementsByTagName("item");
-                int count = 0;
-
-                for (int i = 0; i < items.getLength(); i++) {
-                    Element item = (Element) items.item(i);
-                    String role = getText(item, "role");
-                    if ("PROJECT_MANAGER".equalsIgnoreCase(role)) count++;
-                }
-                return count;
-            }
-
-            // count PMs for JSON input too (bonus)
-            if (trimmed.startsWith("[") || trimmed.startsWith("{")) {
-                JsonNode root = objectMapper.readTree(trimmed);
-                JsonNode arr = root.isArray() ? root : root.get("data");
-                if (arr == null || !arr.isArray()) return 0;
-
-                int count = 0;
-                for (JsonNode item : arr) {
-                    String role = safeText(item.get("role"));
-                    if ("PROJECT_MANAGER".equalsIgnoreCase(role)) count++;
-                }
-                return count;
-            }
+            feedParser.parse(in, e -> {
+                if (e.email() == null || e.email().isBlank() || !e.isProjectManager()) return;
 
-            return 0;
+                String normEmail = e.email().trim().toLowerCase();
+                chunk.add(new PmRecord(normEmail, e.firstName(), e.lastName()));
 
-        } catch (Exception e) {
-            return 0;
+                if (chunk.size() >= importBatchSize) {
+                    imported[0] += allowedRepo.upsertBatch(chunk);
+                    chunk.clear();
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read whitelist import", e);
         }
-    }
 
-    private String getText(Element parent, String tag) {
-        NodeList list = parent.getElementsByTagName(tag);
-        if (list.getLength() == 0) return null;
-        Node n = list.item(0);
-        return n == null ? null : n.getTextContent();
-    }
+        if (!chunk.isEmpty()) imported[0] += allowedRepo.upsertBatch(chunk);
 
-    private String safeText(JsonNode n) {
-        if (n == null || n.isNull()) return null;
-        String v = n.asText();
-        return (v == null || v.isBlank()) ? null : v;
+        System.out.println("[PmWhitelist] Imported " + imported[0] + " project managers in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return imported[0];
     }
 }
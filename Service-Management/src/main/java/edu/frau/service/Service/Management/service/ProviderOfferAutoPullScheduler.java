@@ -1,52 +1,127 @@
 package edu.frau.service.Service.Management.service;
 
+import edu.frau.service.Service.Management.integration.provider.ProviderManagementClient;
+import edu.frau.service.Service.Management.integration.provider.ProviderOfferDTO;
 import edu.frau.service.Service.Management.model.ServiceRequest;
-import edu.frau.service.Service.Management.repository.ServiceRequestRepository;
-import org.springframework.scheduling.annotation.Scheduled;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.*;
 
 @Component
 public class ProviderOfferAutoPullScheduler {
 
-    private final ServiceRequestRepository requestRepository;
     private final RequestService requestService;
+    private final Optional<ProviderManagementClient> providerClient;
 
-    public ProviderOfferAutoPullScheduler(ServiceRequestRepository requestRepository,
-                                          RequestService requestService) {
-        this.requestRepository = requestRepository;
+    // ✅ bounded: at most `parallelism` ingestions at once, overflow runs on the calling thread
+    private final ExecutorService ingestPool;
+
+    // how long shutdown waits for running ingestions (transaction + notifications) to finish
+    private static final long SHUTDOWN_WAIT_SECONDS = 30;
+
+    public ProviderOfferAutoPullScheduler(RequestService requestService,
+                                          Optional<ProviderManagementClient> providerClient,
+                                          @Value("${provider.pull.parallelism:4}") int parallelism) {
         this.requestService = requestService;
+        this.providerClient = providerClient;
+
+        int threads = Math.max(1, parallelism);
+        this.ingestPool = new ThreadPoolExecutor(
+                threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 16),
+                r -> {
+                    Thread t = new Thread(r, "provider-ingest");
+                    t.setDaemon(true);
+                    return t;
+                },
+                // overflow runs on the caller; after shutdown the task is cancelled (a discarded one would block get())
+                (task, pool) -> {
+                    if (pool.isShutdown()) ((Future<?>) task).cancel(false);
+                    else task.run();
+                }
+        );
     }
 
     /**
      * ✅ Enterprise-style behavior:
      * When bidding cycle ends, automatically pull provider bids once.
+     * Called by {@link BiddingDeadlineEngine} the moment the windows close (no polling).
      *
      * IMPORTANT:
      * - We DO NOT change request status here
-     * - We DO NOT expire here
+     * - We DO NOT expire here (BiddingCycleScheduler runs right after)
      * - Manual pull still works anytime via endpoint
+     *
+     * One provider sync per call (not one per ended request; only offers newer than the
+     * client's watermark are downloaded), ingested per request in parallel.
      */
-    @Scheduled(fixedRate = 2_000) // demo-friendly; you can change later
-    public void autoPullWhenCycleEnds() {
+    public void autoPullWhenCycleEnds(List<ServiceRequest> ended) {
+        // provider client disabled / not present -> nothing to pull
+        if (providerClient.isEmpty()) return;
+        if (ended.isEmpty()) return;
 
-        Instant now = Instant.now();
-
-        List<ServiceRequest> ended =
-                requestRepository.findByBiddingActiveTrueAndBiddingEndAtBefore(now);
+        Map<String, List<ProviderOfferDTO>> byRequestNumber;
+        try {
+            List<String> requestNumbers = new ArrayList<>();
+            for (ServiceRequest req : ended) requestNumbers.add(req.getRequestNumber());
+            byRequestNumber = providerClient.get().fetchOffersFor(requestNumbers);
+        } catch (Exception e) {
+            // Never crash scheduler
+            System.out.println("[AutoPullScheduler] Provider fetch failed -> " + e.getMessage());
+            return;
+        }
 
+        List<Future<?>> jobs = new ArrayList<>();
         for (ServiceRequest req : ended) {
+            List<ProviderOfferDTO> matches = byRequestNumber.get(req.getRequestNumber());
+            if (matches == null) continue;
+
+            jobs.add(ingestPool.submit(() -> ingest(req, matches)));
+        }
+
+        // finish before the expiry check runs, it has to see the pulled offers
+        for (Future<?> job : jobs) {
             try {
-                requestService.pullProviderOffers(req.getId());
-                System.out.println("[AutoPullScheduler] Auto-pulled offers for request "
-                        + req.getId() + " (" + req.getRequestNumber() + ")");
-            } catch (Exception e) {
-                // Never crash scheduler
-                System.out.println("[AutoPullScheduler] Failed for request " + req.getId()
-                        + " -> " + e.getMessage());
+                job.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException ignored) {
+                // already logged in ingest()
+            } catch (CancellationException e) {
+                System.out.println("[AutoPullScheduler] Shutting down, ingestion skipped");
+            }
+        }
+    }
+
+    // daemon threads would just die with the JVM -> let in-flight batches finish before the context closes
+    @PreDestroy
+    public void stop() {
+        ingestPool.shutdown();
+        try {
+            if (!ingestPool.awaitTermination(SHUTDOWN_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                System.out.println("[AutoPullScheduler] Ingestion still running after "
+                        + SHUTDOWN_WAIT_SECONDS + "s, interrupting");
+                ingestPool.shutdownNow();
             }
+        } catch (InterruptedException e) {
+            ingestPool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void ingest(ServiceRequest req, List<ProviderOfferDTO> matches) {
+        try {
+            int inserted = requestService.ingestProviderOffers(req.getId(), matches);
+            System.out.println("[AutoPullScheduler] Auto-pulled offers for request "
+                    + req.getId() + " (" + req.getRequestNumber() + ") +" + inserted);
+        } catch (Exception e) {
+            // Never crash scheduler
+            System.out.println("[AutoPullScheduler] Failed for request " + req.getId()
+                    + " -> " + e.getMessage());
         }
     }
 }
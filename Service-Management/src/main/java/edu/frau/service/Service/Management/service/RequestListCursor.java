@@ -0,0 +1,85 @@
+package edu.frau.service.Service.Management.service;
+
+import edu.frau.service.Service.Management.dto.RequestPageQuery;
+import edu.frau.service.Service.Management.dto.ServiceRequestSummary;
+import edu.frau.service.Service.Management.model.ServiceRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * ✅ Opaque keyset cursor for /api/requests: base64url("id|sort|dir|value").
+ * The sort + direction are part of the cursor, so a cursor can't be replayed against another ordering.
+ */
+final class RequestListCursor {
+
+    static final Set<String> SORT_FIELDS = Set.of("id", "requestNumber", "startDate", "endDate", "biddingEndAt");
+
+    private RequestListCursor() {}
+
+    static String encode(ServiceRequest last, RequestPageQuery q) {
+        return encode(last.getId(), sortValue(last, q.sortField), q);
+    }
+
+    static String encode(ServiceRequestSummary last, RequestPageQuery q) {
+        Object value = switch (q.sortField) {
+            case "requestNumber" -> last.requestNumber();
+            case "startDate" -> last.startDate();
+            case "endDate" -> last.endDate();
+            case "biddingEndAt" -> last.biddingEndAt();
+            default -> last.id();
+        };
+        return encode(last.id(), value, q);
+    }
+
+    private static String encode(Long id, Object value, RequestPageQuery q) {
+        String raw = id + "|" + q.sortField + "|" + (q.descending ? "desc" : "asc") + "|"
+                + (value == null ? "" : value.toString());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // fills afterId / afterValue of the query
+    static void apply(String cursor, RequestPageQuery q) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 4) throw new IllegalArgumentException("Invalid cursor");
+
+        String dir = q.descending ? "desc" : "asc";
+        if (!parts[1].equals(q.sortField) || !parts[2].equals(dir)) {
+            throw new IllegalArgumentException("Cursor was created for a different sort order");
+        }
+
+        try {
+            q.afterId = Long.parseLong(parts[0]);
+            q.afterValue = parts[3].isEmpty() ? null : parseValue(q.sortField, parts[3]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static Object sortValue(ServiceRequest r, String field) {
+        return switch (field) {
+            case "requestNumber" -> r.getRequestNumber();
+            case "startDate" -> r.getStartDate();
+            case "endDate" -> r.getEndDate();
+            case "biddingEndAt" -> r.getBiddingEndAt();
+            default -> r.getId();
+        };
+    }
+
+    private static Object parseValue(String field, String raw) {
+        return switch (field) {
+            case "requestNumber" -> raw;
+            case "startDate", "endDate" -> LocalDate.parse(raw);
+            case "biddingEndAt" -> Instant.parse(raw);
+            default -> Long.parseLong(raw);
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package edu.frau.service.Service.Management.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ✅ Unique SR- numbers without existence checks.
+ * - A DB sequence hands out blocks of BLOCK_SIZE numbers (INCREMENT BY BLOCK_SIZE, like Hibernate's pooled ids)
+ *   -> unique across nodes, one DB round trip per BLOCK_SIZE requests
+ * - Inside a block numbers come from an AtomicLong (lock-free); only the refill is synchronized
+ * - Encoded as base36 padded to 9 chars, so they never clash with the old random 8/12-char numbers
+ */
+@Component
+public class RequestNumberGenerator {
+
+    // never change for an existing database: blocks are [nextval, nextval + BLOCK_SIZE)
+    static final int BLOCK_SIZE = 100;
+    static final String SEQUENCE = "service_request_number_seq";
+    private static final int WIDTH = 9;
+
+    private final JdbcTemplate jdbc;
+    private final DataSource dataSource;
+
+    private final AtomicReference<Block> block = new AtomicReference<>(new Block(0, 0));
+    private volatile String nextValSql;
+
+    public RequestNumberGenerator(JdbcTemplate jdbc, DataSource dataSource) {
+        this.jdbc = jdbc;
+        this.dataSource = dataSource;
+    }
+
+    private static final class Block {
+        final AtomicLong next;
+        final long end; // exclusive
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+    public String next() {
+        while (true) {
+            Block b = block.get();
+            long n = b.next.getAndIncrement();
+            if (n < b.end) return format(n);
+
+            refill(b);
+        }
+    }
+
+    static String format(long n) {
+        String s = Long.toString(n, 36).toUpperCase();
+        return "SR-" + "0".repeat(Math.max(0, WIDTH - s.length())) + s;
+    }
+
+    private synchronized void refill(Block exhausted) {
+        // another thread already swapped in a fresh block
+        if (block.get() != exhausted) return;
+
+        Long start = jdbc.queryForObject(nextValSql(), Long.class);
+        if (start == null) throw new IllegalStateException("Sequence " + SEQUENCE + " returned no value");
+
+        block.set(new Block(start, start + BLOCK_SIZE));
+    }
+
+    private String nextValSql() {
+        if (nextValSql != null) return nextValSql;
+
+        jdbc.execute("CREATE SEQUENCE IF NOT EXISTS " + SEQUENCE + " START WITH 1 INCREMENT BY " + BLOCK_SIZE);
+
+        String product;
+        try {
+            product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Could not detect database for request numbers", e);
+        }
+
+        nextValSql = "PostgreSQL".equalsIgnoreCase(product)
+                ? "SELECT nextval('" + SEQUENCE + "')"
+                : "SELECT NEXT VALUE FOR " + SEQUENCE;
+        return nextValSql;
+    }
+}
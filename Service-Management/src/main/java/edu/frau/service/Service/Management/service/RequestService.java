@@ -1,5 +1,9 @@
 package edu.frau.service.Service.Management.service;
 
+import edu.frau.service.Service.Management.dto.RequestPage;
+import edu.frau.service.Service.Management.dto.ServiceRequestSummary;
+import edu.frau.service.Service.Management.integration.provider.ProviderOfferDTO;
+import edu.frau.service.Service.Management.model.RequestStatus;
 import edu.frau.service.Service.Management.model.ServiceOffer;
 import edu.frau.service.Service.Management.model.ServiceOrder;
 import edu.frau.service.Service.Management.model.ServiceRequest;
@@ -15,6 +19,14 @@ public interface RequestService {
 
     List<ServiceRequest> getAllRequests();
 
+    // keyset-paginated /api/requests (role + status filters run in the query)
+    RequestPage<ServiceRequest> listRequests(List<RequestStatus> statuses, String sort, String direction,
+                                             Integer limit, String cursor);
+
+    // same paging, scalar columns only (dashboards / tables)
+    RequestPage<ServiceRequestSummary> listRequestSummaries(List<RequestStatus> statuses, String sort, String direction,
+                                                            Integer limit, String cursor);
+
     Optional<ServiceRequest> updateRequest(Long id, ServiceRequest updated);
 
     boolean deleteRequest(Long id);
@@ -41,6 +53,9 @@ public interface RequestService {
 
     void pullProviderOffers(Long requestId);
 
+    // stores already-downloaded provider offers of one request (no window check, no provider call)
+    int ingestProviderOffers(Long requestId, List<ProviderOfferDTO> matches);
+
     void applyProviderDecisionFromGroup3(Long offerId, Group3OfferDecisionDTO body);
 
     ServiceOrder approveOrderById(Long orderId);
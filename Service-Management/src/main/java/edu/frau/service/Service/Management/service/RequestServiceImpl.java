@@ -1,6 +1,11 @@
 package edu.frau.service.Service.Management.service;
 
 import edu.frau.service.Service.Management.dto.Group3OfferDecisionDTO;
+import edu.frau.service.Service.Management.dto.NormalizedProject;
+import edu.frau.service.Service.Management.dto.NormalizedProjectRole;
+import edu.frau.service.Service.Management.dto.RequestPage;
+import edu.frau.service.Service.Management.dto.RequestPageQuery;
+import edu.frau.service.Service.Management.dto.ServiceRequestSummary;
 import edu.frau.service.Service.Management.integration.provider.ProviderManagementClient;
 import edu.frau.service.Service.Management.integration.provider.ProviderOfferDTO;
 import edu.frau.service.Service.Management.model.*;
@@ -8,22 +13,31 @@ import edu.frau.service.Service.Management.repository.ServiceOfferRepository;
 import edu.frau.service.Service.Management.repository.ServiceOrderRepository;
 import edu.frau.service.Service.Management.repository.ServiceRequestRepository;
 import edu.frau.service.Service.Management.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 @Service
 public class RequestServiceImpl implements RequestService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final ServiceRequestRepository requestRepository;
     private final ServiceOfferRepository offerRepository;
     private final ServiceOrderRepository orderRepository;
@@ -36,6 +50,11 @@ public class RequestServiceImpl implements RequestService {
     // ✅ NEW: Used for autofill & Group-2 contract validation (external)
     private final ExternalReferenceService externalReferenceService;
 
+    private final RequestNumberGenerator requestNumberGenerator;
+    private final TransactionTemplate tx;
+    private final ApplicationEventPublisher events;
+    private final OfferEvaluationService offerEvaluationService;
+
     public RequestServiceImpl(
             ServiceRequestRepository requestRepository,
             ServiceOfferRepository offerRepository,
@@ -46,7 +65,11 @@ public class RequestServiceImpl implements RequestService {
             // ✅ OPTIONAL now
             Optional<ProviderManagementClient> providerClient,
 
-            ExternalReferenceService externalReferenceService
+            ExternalReferenceService externalReferenceService,
+            RequestNumberGenerator requestNumberGenerator,
+            TransactionTemplate tx,
+            ApplicationEventPublisher events,
+            OfferEvaluationService offerEvaluationService
     ) {
         this.requestRepository = requestRepository;
         this.offerRepository = offerRepository;
@@ -55,6 +78,10 @@ public class RequestServiceImpl implements RequestService {
         this.userRepository = userRepository;
         this.providerClient = providerClient;
         this.externalReferenceService = externalReferenceService;
+        this.requestNumberGenerator = requestNumberGenerator;
+        this.tx = tx;
+        this.events = events;
+        this.offerEvaluationService = offerEvaluationService;
     }
 
     // --------------------------------------------------
@@ -145,26 +172,6 @@ public class RequestServiceImpl implements RequestService {
         }
     }
 
-    private String generateUniqueRequestNumber() {
-        for (int i = 0; i < 20; i++) {
-            String sr = "SR-" + randomBase36(8);
-            if (!requestRepository.existsByRequestNumber(sr)) {
-                return sr;
-            }
-        }
-        return "SR-" + randomBase36(12);
-    }
-
-    private String randomBase36(int len) {
-        String chars = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
-        StringBuilder sb = new StringBuilder(len);
-        ThreadLocalRandom r = ThreadLocalRandom.current();
-        for (int i = 0; i < len; i++) {
-            sb.append(chars.charAt(r.nextInt(chars.length())));
-        }
-        return sb.toString();
-    }
-
     private boolean isBlank(String s) {
         return s == null || s.trim().isEmpty();
     }
@@ -217,71 +224,58 @@ public class RequestServiceImpl implements RequestService {
         if (!isBlank(request.getProjectId())) {
 
             // ✅ Use NORMALIZED project (handles projectStart/projectEnd/selectedLocations/roles)
-            Map<String, Object> norm = externalReferenceService.getProjectNormalized(request.getProjectId());
+            NormalizedProject norm = externalReferenceService.getProjectNormalized(request.getProjectId());
             if (norm != null) {
+                Map<String, Object> raw = norm.raw();
 
                 // projectName
                 if (isBlank(request.getProjectName())) {
-                    String name = asString(norm.get("projectName"));
+                    String name = norm.projectName();
                     if (!isBlank(name)) request.setProjectName(name);
                 }
 
                 // title (ONLY fill if missing)
                 if (isBlank(request.getTitle())) {
-                    String title = asString(norm.get("title"));
+                    String title = norm.title();
                     if (!isBlank(title)) request.setTitle(title);
                 }
 
                 // start/end
                 if (request.getStartDate() == null) {
-                    LocalDate d = parseLocalDateSafe(norm.get("startDate"));
+                    LocalDate d = parseLocalDateSafe(norm.startDate());
                     if (d != null) request.setStartDate(d);
                 }
 
                 if (request.getEndDate() == null) {
-                    LocalDate d = parseLocalDateSafe(norm.get("endDate"));
+                    LocalDate d = parseLocalDateSafe(norm.endDate());
                     if (d != null) request.setEndDate(d);
                 }
 
                 // performanceLocation: if project provides locations, pick first if empty
-                if (isBlank(request.getPerformanceLocation())) {
-                    Object locObj = norm.get("locations");
-                    if (locObj instanceof List<?> list && !list.isEmpty()) {
-                        request.setPerformanceLocation(String.valueOf(list.get(0)));
-                    }
+                if (isBlank(request.getPerformanceLocation()) && !norm.locations().isEmpty()) {
+                    request.setPerformanceLocation(norm.locations().get(0));
                 }
 
-                // taskDescription autofill (if missing)
-                if (isBlank(request.getTaskDescription())) {
-                    // from raw project
-                    Object raw = norm.get("raw");
-                    if (raw instanceof Map<?, ?> rawMap) {
-                        String td = asString(((Map<?, ?>) rawMap).get("taskDescription"));
-                        if (!isBlank(td)) request.setTaskDescription(td);
-                    }
+                // taskDescription autofill (if missing) from raw project
+                if (isBlank(request.getTaskDescription()) && raw != null) {
+                    String td = asString(raw.get("taskDescription"));
+                    if (!isBlank(td)) request.setTaskDescription(td);
                 }
 
                 // requiredLanguages from selectedSkills (ONLY if missing)
                 if (request.getRequiredLanguages() == null || request.getRequiredLanguages().isEmpty()) {
-                    Object skillsObj = norm.get("skills");
-                    if (skillsObj instanceof List<?> list && !list.isEmpty()) {
-                        List<String> langs = list.stream().map(String::valueOf).toList();
-                        request.setRequiredLanguages(langs);
+                    if (!norm.skills().isEmpty()) {
+                        request.setRequiredLanguages(new ArrayList<>(norm.skills()));
                     }
                 }
 
                 // furtherInformation (links + skills) ONLY if missing
                 if (isBlank(request.getFurtherInformation())) {
-                    Object raw = norm.get("raw");
-                    String links = null;
-                    if (raw instanceof Map<?, ?> rawMap) {
-                        links = asString(((Map<?, ?>) rawMap).get("links"));
-                    }
+                    String links = raw != null ? asString(raw.get("links")) : null;
 
                     String skillsLine = "";
-                    Object skillsObj = norm.get("skills");
-                    if (skillsObj instanceof List<?> list && !list.isEmpty()) {
-                        skillsLine = "Skills: " + list.stream().map(String::valueOf).reduce((a, b) -> a + ", " + b).orElse("");
+                    if (!norm.skills().isEmpty()) {
+                        skillsLine = "Skills: " + String.join(", ", norm.skills());
                     }
 
                     String out = "";
@@ -292,46 +286,28 @@ public class RequestServiceImpl implements RequestService {
                 }
 
                 // ✅ ROLES autofill from project roles (ONLY if missing)
-                if (request.getRoles() == null || request.getRoles().isEmpty()) {
-                    Object rolesObj = norm.get("roles");
-                    if (rolesObj instanceof List<?> list && !list.isEmpty()) {
-
-                        List<RequestedRole> rr = list.stream()
-                                .filter(x -> x instanceof Map<?, ?>)
-                                .map(x -> (Map<String, Object>) x)
-                                .map(rm -> {
-                                    RequestedRole r = new RequestedRole();
-
-                                    // roleName
-                                    String roleName = asString(rm.get("roleName"));
-                                    r.setRoleName(roleName);
-
-                                    // technology from first competency (or null)
-                                    Object compsObj = rm.get("competencies");
-                                    if (compsObj instanceof List<?> comps && !comps.isEmpty()) {
-                                        r.setTechnology(String.valueOf(comps.get(0)));
-                                    }
-
-                                    // manDays from capacity/manDays
-                                    Object md = rm.get("manDays");
-                                    if (md != null) {
-                                        try {
-                                            r.setManDays(Integer.parseInt(String.valueOf(md)));
-                                        } catch (Exception ignored) {
-                                        }
-                                    }
-
-                                    // domain/experience not provided by Group-1 => keep null (UI can edit)
-                                    r.setDomain(null);
-                                    r.setExperienceLevel(null);
-                                    r.setOnsiteDays(null);
-
-                                    return r;
-                                })
-                                .toList();
-
-                        request.setRoles(rr);
+                if ((request.getRoles() == null || request.getRoles().isEmpty()) && !norm.roles().isEmpty()) {
+                    List<RequestedRole> rr = new ArrayList<>();
+                    for (NormalizedProjectRole pr : norm.roles()) {
+                        RequestedRole r = new RequestedRole();
+                        r.setRoleName(pr.roleName());
+
+                        // technology from first competency (or null)
+                        if (!pr.competencies().isEmpty()) {
+                            r.setTechnology(pr.competencies().get(0));
+                        }
+
+                        // manDays from capacity/manDays
+                        r.setManDays(pr.manDays());
+
+                        // domain/experience not provided by Group-1 => keep null (UI can edit)
+                        r.setDomain(null);
+                        r.setExperienceLevel(null);
+                        r.setOnsiteDays(null);
+
+                        rr.add(r);
                     }
+                    request.setRoles(rr);
                 }
             }
         }
@@ -431,7 +407,7 @@ public class RequestServiceImpl implements RequestService {
         }
 
         if (request.getRequestNumber() == null || request.getRequestNumber().isBlank()) {
-            request.setRequestNumber(generateUniqueRequestNumber());
+            request.setRequestNumber(requestNumberGenerator.next());
         }
 
         ensureBiddingFields(request);
@@ -459,28 +435,76 @@ public class RequestServiceImpl implements RequestService {
     public List<ServiceRequest> getAllRequests() {
         User current = getCurrentUserOrNull();
 
-        // ✅ Public (no JWT): allow list
-        if (current == null) {
+        // ✅ Public (no JWT) + ADMIN / RP / PO: allow list
+        if (seesAllRequests(current)) {
             return requestRepository.findAll();
         }
 
-        // ✅ IMPORTANT: Procurement Officer must see all
-        if (current.getRole() == Role.ADMIN
-                || current.getRole() == Role.RESOURCE_PLANNER
-                || current.getRole() == Role.PROCUREMENT_OFFICER) {
-            return requestRepository.findAll();
-        }
-
-        // ✅ PM sees only their own requests
+        // ✅ PM sees only their own requests (filtered in the query, not in Java)
         if (current.getRole() == Role.PROJECT_MANAGER) {
-            return requestRepository.findAll().stream()
-                    .filter(r -> current.getUsername().equals(r.getRequestedByUsername()))
-                    .toList();
+            return requestRepository.findByRequestedByUsername(current.getUsername());
         }
 
         return List.of();
     }
 
+    @Override
+    public RequestPage<ServiceRequest> listRequests(List<RequestStatus> statuses, String sort, String direction,
+                                                    Integer limit, String cursor) {
+        return page(statuses, sort, direction, limit, cursor, requestRepository::findPage, RequestListCursor::encode);
+    }
+
+    @Override
+    public RequestPage<ServiceRequestSummary> listRequestSummaries(List<RequestStatus> statuses, String sort,
+                                                                   String direction, Integer limit, String cursor) {
+        return page(statuses, sort, direction, limit, cursor, requestRepository::findSummaryPage, RequestListCursor::encode);
+    }
+
+    private <T> RequestPage<T> page(List<RequestStatus> statuses, String sort, String direction,
+                                    Integer limit, String cursor,
+                                    Function<RequestPageQuery, List<T>> finder,
+                                    BiFunction<T, RequestPageQuery, String> cursorOf) {
+        RequestPageQuery q = new RequestPageQuery();
+        q.statuses = statuses;
+        q.sortField = (sort == null || sort.isBlank()) ? "id" : sort.trim();
+        q.descending = "desc".equalsIgnoreCase(direction);
+
+        if (!RequestListCursor.SORT_FIELDS.contains(q.sortField)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sort);
+        }
+
+        // ✅ same visibility rules as getAllRequests, but as a WHERE clause
+        User current = getCurrentUserOrNull();
+        if (!seesAllRequests(current)) {
+            if (current.getRole() != Role.PROJECT_MANAGER) return new RequestPage<>(List.of(), null);
+            q.requestedBy = current.getUsername();
+        }
+
+        if (cursor != null && !cursor.isBlank()) RequestListCursor.apply(cursor, q);
+
+        // no limit + no cursor = old behaviour (whole filtered list)
+        if (limit == null && q.afterId == null) {
+            return new RequestPage<>(finder.apply(q), null);
+        }
+
+        int size = Math.min(Math.max(limit == null ? DEFAULT_PAGE_SIZE : limit, 1), MAX_PAGE_SIZE);
+        q.limit = size + 1; // one extra row tells us whether there is a next page
+
+        List<T> rows = finder.apply(q);
+        if (rows.size() <= size) return new RequestPage<>(rows, null);
+
+        List<T> page = new ArrayList<>(rows.subList(0, size));
+        return new RequestPage<>(page, cursorOf.apply(page.get(size - 1), q));
+    }
+
+    // null = public (no JWT)
+    private boolean seesAllRequests(User current) {
+        return current == null
+                || current.getRole() == Role.ADMIN
+                || current.getRole() == Role.RESOURCE_PLANNER
+                || current.getRole() == Role.PROCUREMENT_OFFICER;
+    }
+
     @Override
     public Optional<ServiceRequest> updateRequest(Long id, ServiceRequest updated) {
         return requestRepository.findById(id).map(existing -> {
@@ -579,6 +603,7 @@ public class RequestServiceImpl implements RequestService {
         req.setStatus(RequestStatus.APPROVED_FOR_BIDDING);
 
         ServiceRequest saved = requestRepository.save(req);
+        events.publishEvent(new BiddingWindowOpenedEvent(saved.getId(), saved.getBiddingEndAt()));
 
         notificationService.sendToUsername(
                 req.getRequestedByUsername(),
@@ -645,6 +670,7 @@ public class RequestServiceImpl implements RequestService {
         req.setStatus(RequestStatus.APPROVED_FOR_BIDDING);
 
         ServiceRequest saved = requestRepository.save(req);
+        events.publishEvent(new BiddingWindowOpenedEvent(saved.getId(), saved.getBiddingEndAt()));
 
         notificationService.sendToRole(
                 Role.RESOURCE_PLANNER,
@@ -728,6 +754,8 @@ public class RequestServiceImpl implements RequestService {
             requestRepository.save(request);
         }
 
+        scoreNewOffers(request, List.of(saved));
+
         notificationService.sendToUsername(
                 request.getRequestedByUsername(),
                 "New offer received for request: " + request.getTitle()
@@ -819,38 +847,50 @@ public class RequestServiceImpl implements RequestService {
         // ✅ provider client disabled / not present -> do nothing (no crash)
         if (providerClient.isEmpty()) return;
 
-        String externalRequestId = req.getRequestNumber();
+        // ✅ client only downloads offers newer than its watermark, then looks up this request's offers
+        List<ProviderOfferDTO> matches = providerClient.get().fetchOffersFor(req.getRequestNumber());
 
-        List<ProviderOfferDTO> externalOffers = providerClient.get().fetchAllOffers();
-        if (externalOffers == null || externalOffers.isEmpty()) return;
+        ingestMatches(req, matches);
+    }
 
-        List<ProviderOfferDTO> matches = externalOffers.stream()
-                .filter(o -> o != null && externalRequestId != null && externalRequestId.equals(o.requestId))
-                .collect(Collectors.toList());
+    // ✅ used by the auto-pull scheduler: one shared provider download, already grouped by requestNumber
+    @Override
+    public int ingestProviderOffers(Long requestId, List<ProviderOfferDTO> matches) {
+        ServiceRequest req = requestRepository.findById(requestId)
+                .orElseThrow(() -> new IllegalArgumentException("Request not found"));
+        return ingestMatches(req, matches);
+    }
 
-        if (matches.isEmpty()) return;
+    private int ingestMatches(ServiceRequest req, List<ProviderOfferDTO> matches) {
+        if (matches == null || matches.isEmpty()) return 0;
 
-        List<ServiceOffer> existing = offerRepository.findByServiceRequestId(req.getId());
+        // ✅ O(existing + matches): fingerprints of stored offers in a hash set,
+        // new ones are added too, so duplicates inside the same pull are skipped as well
+        Set<OfferFingerprint> seen = new HashSet<>();
+        for (ServiceOffer e : offerRepository.findByServiceRequestId(req.getId())) {
+            seen.add(OfferFingerprint.of(e));
+        }
 
-        int inserted = 0;
+        List<ServiceOffer> fresh = new ArrayList<>();
         for (ProviderOfferDTO ext : matches) {
             ServiceOffer offer = mapProviderOfferToServiceOffer(req, ext);
+            if (seen.add(OfferFingerprint.of(offer))) fresh.add(offer);
+        }
 
-            boolean duplicate = existing.stream().anyMatch(e ->
-                    safeEq(e.getSupplierName(), offer.getSupplierName())
-                            && safeEq(e.getSpecialistName(), offer.getSpecialistName())
-                            && Double.compare(e.getDailyRate(), offer.getDailyRate()) == 0
-            );
+        int inserted = fresh.size();
 
-            if (!duplicate) {
-                offerRepository.save(offer);
-                inserted++;
-            }
-        }
+        // one transaction for all new offers (+ status change) instead of one per offer
+        if (inserted > 0) {
+            tx.executeWithoutResult(status -> {
+                offerRepository.saveAll(fresh);
 
-        if (inserted > 0 && req.getStatus() == RequestStatus.APPROVED_FOR_BIDDING) {
-            req.setStatus(RequestStatus.BIDDING);
-            requestRepository.save(req);
+                if (req.getStatus() == RequestStatus.APPROVED_FOR_BIDDING) {
+                    req.setStatus(RequestStatus.BIDDING);
+                    requestRepository.save(req);
+                }
+            });
+
+            scoreNewOffers(req, fresh);
         }
 
         notificationService.sendToUsername(
@@ -861,12 +901,28 @@ public class RequestServiceImpl implements RequestService {
                 Role.RESOURCE_PLANNER,
                 "Provider offers pulled for request: " + req.getTitle() + " (+" + inserted + ")"
         );
+        return inserted;
     }
 
-    private boolean safeEq(String a, String b) {
-        if (a == null && b == null) return true;
-        if (a == null || b == null) return false;
-        return a.trim().equalsIgnoreCase(b.trim());
+    // ✅ keep rankings fresh for PMs: score only the new bids (the offer itself is already stored either way)
+    private void scoreNewOffers(ServiceRequest req, List<ServiceOffer> offers) {
+        try {
+            offerEvaluationService.evaluateNewOffers(req.getId(), offers, "system");
+        } catch (Exception e) {
+            System.out.println("[RequestService] Incremental scoring failed for request " + req.getId()
+                    + " -> " + e.getMessage() + " (full recompute still available)");
+        }
+    }
+
+    // duplicate key of an offer: supplier + specialist (trimmed, case-insensitive) + daily rate
+    private record OfferFingerprint(String supplier, String specialist, double dailyRate) {
+        static OfferFingerprint of(ServiceOffer o) {
+            return new OfferFingerprint(norm(o.getSupplierName()), norm(o.getSpecialistName()), o.getDailyRate());
+        }
+
+        private static String norm(String s) {
+            return s == null ? null : s.trim().toLowerCase(Locale.ROOT);
+        }
     }
 
     private ServiceOffer mapProviderOfferToServiceOffer(ServiceRequest req, ProviderOfferDTO ext) {
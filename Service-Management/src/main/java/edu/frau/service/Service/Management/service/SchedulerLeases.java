@@ -0,0 +1,192 @@
+package edu.frau.service.Service.Management.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ✅ Cluster-safe scheduling with leases in a plain DB table (H2 + Postgres, no vendor SQL).
+ * - Request ids are split into SHARDS (id mod shards); each shard has a lease row "bidding-shard-N"
+ * - Only the node holding a shard's lease pulls offers / closes windows for its requests
+ * - Every node renews its leases on a heartbeat and keeps a {@code node:<nodeId>} row alive;
+ *   it takes free or expired shards up to its fair share (shards / live nodes) and hands back extras,
+ *   so adding nodes spreads the work and a crashed node's shards move after leaseSeconds
+ * - Disabled (default): single node, every shard is local, no lease table traffic
+ */
+@Component
+public class SchedulerLeases {
+
+    static final String TABLE = "scheduler_leases";
+
+    private static final String CREATE =
+            "CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                    + "name VARCHAR(100) PRIMARY KEY, "
+                    + "owner VARCHAR(200) NOT NULL, "
+                    + "expires_at TIMESTAMP WITH TIME ZONE NOT NULL)";
+
+    // ours already, or the previous owner's lease ran out
+    private static final String TAKE =
+            "UPDATE " + TABLE + " SET owner = ?, expires_at = ? WHERE name = ? AND (owner = ? OR expires_at < ?)";
+
+    private static final String INSERT =
+            "INSERT INTO " + TABLE + " (name, owner, expires_at) VALUES (?, ?, ?)";
+
+    private static final String RELEASE =
+            "DELETE FROM " + TABLE + " WHERE name = ? AND owner = ?";
+
+    private static final String LIVE_NODES =
+            "SELECT COUNT(*) FROM " + TABLE + " WHERE name LIKE 'node:%' AND expires_at >= ?";
+
+    private final JdbcTemplate jdbc;
+    private final boolean enabled;
+    private final int shards;
+    private final Duration leaseDuration;
+    private final String nodeId;
+
+    private final Set<Integer> owned = ConcurrentHashMap.newKeySet();
+    // owned shards only count until the last successful renewal + lease duration (stalled heartbeat -> stop working)
+    private volatile Instant ownedUntil = Instant.EPOCH;
+    private volatile boolean tableReady;
+
+    public SchedulerLeases(
+            JdbcTemplate jdbc,
+            @Value("${scheduler.cluster.enabled:false}") boolean enabled,
+            @Value("${scheduler.cluster.shards:16}") int shards,
+            @Value("${scheduler.cluster.leaseSeconds:30}") long leaseSeconds
+    ) {
+        this.jdbc = jdbc;
+        this.enabled = enabled;
+        this.shards = Math.max(1, shards);
+        this.leaseDuration = Duration.ofSeconds(leaseSeconds);
+        this.nodeId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public int shardOf(long requestId) {
+        return (int) Math.floorMod(requestId, (long) shards);
+    }
+
+    public boolean ownsRequest(Long requestId) {
+        if (!enabled) return true;
+        if (requestId == null || Instant.now().isAfter(ownedUntil)) return false;
+        return owned.contains(shardOf(requestId));
+    }
+
+    public Set<Integer> ownedShards() {
+        Set<Integer> out = new TreeSet<>();
+        if (!enabled) {
+            for (int s = 0; s < shards; s++) out.add(s);
+        } else if (!Instant.now().isAfter(ownedUntil)) {
+            out.addAll(owned);
+        }
+        return out;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${scheduler.cluster.heartbeatMillis:10000}")
+    public void heartbeat() {
+        if (!enabled) return;
+
+        try {
+            ensureTable();
+            Instant now = Instant.now();
+
+            acquire("node:" + nodeId, now);
+            int live = Math.max(1, liveNodes(now));
+            int fairShare = (shards + live - 1) / live;
+
+            // renew; hand back shards above the fair share so newly started nodes get work
+            for (Integer s : new TreeSet<>(owned).descendingSet()) {
+                if (owned.size() > fairShare) {
+                    owned.remove(s);
+                    jdbc.update(RELEASE, shardLease(s), nodeId);
+                } else if (!acquire(shardLease(s), now)) {
+                    owned.remove(s);
+                }
+            }
+
+            // take free / expired shards (failover) up to the fair share
+            for (int s = 0; s < shards && owned.size() < fairShare; s++) {
+                if (!owned.contains(s) && acquire(shardLease(s), now)) owned.add(s);
+            }
+
+            ownedUntil = now.plus(leaseDuration);
+        } catch (DataAccessException e) {
+            // can't prove ownership anymore -> do nothing until the DB answers again
+            owned.clear();
+            ownedUntil = Instant.EPOCH;
+            System.out.println("[SchedulerLeases] Heartbeat failed, released local shards -> " + e.getMessage());
+        }
+    }
+
+    // on shutdown hand the shards over right away instead of after leaseSeconds
+    @PreDestroy
+    public void releaseAll() {
+        if (!enabled || !tableReady) return;
+
+        try {
+            for (Integer s : owned) jdbc.update(RELEASE, shardLease(s), nodeId);
+            jdbc.update(RELEASE, "node:" + nodeId, nodeId);
+        } catch (DataAccessException ignored) {
+            // leases expire on their own
+        }
+        owned.clear();
+        ownedUntil = Instant.EPOCH;
+    }
+
+    private boolean acquire(String name, Instant now) {
+        OffsetDateTime nowTs = OffsetDateTime.ofInstant(now, ZoneOffset.UTC);
+        OffsetDateTime expires = OffsetDateTime.ofInstant(now.plus(leaseDuration), ZoneOffset.UTC);
+
+        if (jdbc.update(TAKE, nodeId, expires, name, nodeId, nowTs) == 1) return true;
+
+        try {
+            return jdbc.update(INSERT, name, nodeId, expires) == 1;
+        } catch (DataIntegrityViolationException e) {
+            return false; // another node holds it
+        }
+    }
+
+    private int liveNodes(Instant now) {
+        Integer n = jdbc.queryForObject(LIVE_NODES, Integer.class, OffsetDateTime.ofInstant(now, ZoneOffset.UTC));
+        return n == null ? 0 : n;
+    }
+
+    private void ensureTable() {
+        if (tableReady) return;
+        jdbc.execute(CREATE);
+        tableReady = true;
+    }
+
+    private static String shardLease(int shard) {
+        return "bidding-shard-" + shard;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
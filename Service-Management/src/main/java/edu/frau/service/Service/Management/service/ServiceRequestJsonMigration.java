@@ -0,0 +1,170 @@
+package edu.frau.service.Service.Management.service;
+
+import edu.frau.service.Service.Management.model.RequestedRole;
+import edu.frau.service.Service.Management.model.ServiceRequest;
+import edu.frau.service.Service.Management.repository.ServiceRequestRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * ✅ One-time copy of the old @ElementCollection join tables into the JSON columns of service_requests.
+ * - Runs once all beans exist but before the web server and the schedulers start,
+ *   so no request can write a JSON column before its legacy rows are copied
+ * - Only fills JSON columns that are still NULL (never overwrites data written after the switch)
+ * - Reads the join table page by page (CHUNK request ids by service_request_id range),
+ *   one transaction per page
+ * - A copied join table is retired, not dropped: its FK to service_requests is removed (it would block
+ *   deleting requests) and it is renamed to {@code <table>_legacy}, so later startups find nothing to do
+ *   and the old rows stay available until someone drops them by hand
+ * - On by default: the JSON mapping always applies, so an un-migrated database would show empty lists,
+ *   keep the FKs that block deleting requests, and lose the old rows to the first update.
+ *   Disabled while a legacy table still exists -> startup is refused instead
+ */
+@Component
+public class ServiceRequestJsonMigration implements SmartInitializingSingleton {
+
+    private static final int CHUNK = 500;
+
+    static final List<String> LEGACY_TABLES = List.of(
+            "service_request_required_languages",
+            "service_request_must_have_criteria",
+            "service_request_nice_to_have_criteria",
+            "service_request_roles");
+
+    private static final String ROLE_COLUMNS =
+            "domain, role_name, technology, experience_level, man_days, onsite_days";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final ServiceRequestRepository requestRepository;
+    private final boolean enabled;
+
+    public ServiceRequestJsonMigration(
+            JdbcTemplate jdbc,
+            TransactionTemplate tx,
+            ServiceRequestRepository requestRepository,
+            @Value("${requests.jsonMigration.enabled:true}") boolean enabled
+    ) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.requestRepository = requestRepository;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrate();
+    }
+
+    public void migrate() {
+        if (!enabled) {
+            for (String table : LEGACY_TABLES) {
+                if (tableExists(table)) {
+                    throw new IllegalStateException("Legacy join table " + table + " still exists but "
+                            + "requests.jsonMigration.enabled=false; enable the migration once to copy it into the JSON columns");
+                }
+            }
+            return;
+        }
+
+        migrate("service_request_required_languages", "required_languages",
+                (rs, i) -> rs.getString(2),
+                ServiceRequest::getRequiredLanguages, ServiceRequest::setRequiredLanguages);
+        migrate("service_request_must_have_criteria", "must_have_criteria",
+                (rs, i) -> rs.getString(2),
+                ServiceRequest::getMustHaveCriteria, ServiceRequest::setMustHaveCriteria);
+        migrate("service_request_nice_to_have_criteria", "nice_to_have_criteria",
+                (rs, i) -> rs.getString(2),
+                ServiceRequest::getNiceToHaveCriteria, ServiceRequest::setNiceToHaveCriteria);
+        migrate("service_request_roles", ROLE_COLUMNS,
+                (rs, i) -> {
+                    RequestedRole role = new RequestedRole();
+                    role.setDomain(rs.getString(2));
+                    role.setRoleName(rs.getString(3));
+                    role.setTechnology(rs.getString(4));
+                    role.setExperienceLevel(rs.getString(5));
+                    role.setManDays(rs.getObject(6, Integer.class));
+                    role.setOnsiteDays(rs.getObject(7, Integer.class));
+                    return role;
+                },
+                ServiceRequest::getRoles, ServiceRequest::setRoles);
+    }
+
+    // values: column 1 is service_request_id, the mapper reads the element from the remaining columns
+    private <T> void migrate(String table, String columns, RowMapper<T> values,
+                             Function<ServiceRequest, List<T>> getter,
+                             BiConsumer<ServiceRequest, List<T>> setter) {
+        if (!tableExists(table)) return; // fresh database or already migrated
+
+        String pageIds = "SELECT DISTINCT service_request_id FROM " + table
+                + " WHERE service_request_id > ? ORDER BY service_request_id LIMIT " + CHUNK;
+        String pageRows = "SELECT service_request_id, " + columns + " FROM " + table
+                + " WHERE service_request_id BETWEEN ? AND ?";
+
+        int updated = 0;
+        long after = Long.MIN_VALUE;
+
+        while (true) {
+            List<Long> ids = jdbc.queryForList(pageIds, Long.class, after);
+            if (ids.isEmpty()) break;
+
+            long first = ids.get(0);
+            long last = ids.get(ids.size() - 1);
+
+            Map<Long, List<T>> byRequest = new LinkedHashMap<>();
+            jdbc.query(pageRows, rs -> {
+                T value = values.mapRow(rs, 0);
+                byRequest.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(value);
+            }, first, last);
+
+            Integer page = tx.execute(status -> {
+                int n = 0;
+                List<ServiceRequest> requests = requestRepository.findAllById(byRequest.keySet());
+                for (ServiceRequest r : requests) {
+                    if (getter.apply(r) != null) continue;
+                    setter.accept(r, byRequest.get(r.getId()));
+                    n++;
+                }
+                requestRepository.saveAll(requests);
+                return n;
+            });
+            updated += page == null ? 0 : page;
+            after = last;
+        }
+
+        retire(table);
+        System.out.println("[Migration] " + table + " -> JSON column: " + updated + " requests updated, join table retired");
+    }
+
+    private boolean tableExists(String table) {
+        Integer n = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE LOWER(table_name) = ?",
+                Integer.class, table);
+        return n != null && n > 0;
+    }
+
+    // drop the FK + rename instead of DROP TABLE; another node that got here first is not an error
+    private void retire(String table) {
+        try {
+            List<String> foreignKeys = jdbc.queryForList(
+                    "SELECT constraint_name FROM information_schema.table_constraints "
+                            + "WHERE LOWER(table_name) = ? AND constraint_type = 'FOREIGN KEY'",
+                    String.class, table);
+            for (String fk : foreignKeys) {
+                jdbc.execute("ALTER TABLE " + table + " DROP CONSTRAINT " + fk);
+            }
+            jdbc.execute("ALTER TABLE " + table + " RENAME TO " + table + "_legacy");
+        } catch (DataAccessException e) {
+            System.out.println("[Migration] Could not retire " + table + " (already retired by another node?) -> " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package edu.frau.service.Service.Management.integration.feed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeFeedParserTest {
+
+    private static final int SYNTHETIC_EMPLOYEES = 100_000;
+
+    private final EmployeeFeedParser parser = new EmployeeFeedParser(new ObjectMapper());
+
+    private List<EmployeeFeedParser.Employee> parse(String body) throws Exception {
+        List<EmployeeFeedParser.Employee> out = new ArrayList<>();
+        parser.parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out::add);
+        return out;
+    }
+
+    @Test
+    void readsXmlItems() throws Exception {
+        List<EmployeeFeedParser.Employee> items = parse(
+                "<?xml version=\"1.0\"?><List>"
+                        + "<item><id>1</id><email>pm@x.com</email><role>PROJECT_MANAGER</role>"
+                        + "<skills><skill>Java</skill></skills><firstName>Ann</firstName><lastName>Lee</lastName></item>"
+                        + "<item><email>dev@x.com</email><role>DEVELOPER</role></item>"
+                        + "</List>"
+        );
+
+        assertEquals(2, items.size());
+        assertEquals("pm@x.com", items.get(0).email());
+        assertEquals("Lee", items.get(0).lastName());
+        assertTrue(items.get(0).isProjectManager());
+        assertNull(items.get(1).firstName());
+    }
+
+    @Test
+    void readsJsonWrapperAndSkipsNestedFields() throws Exception {
+        List<EmployeeFeedParser.Employee> items = parse(
+                "  {\"success\":true,\"data\":[{\"email\":\"pm@x.com\",\"address\":{\"city\":\"Berlin\"},"
+                        + "\"role\":\"project_manager\",\"firstName\":\"\",\"lastName\":\"Lee\"}]}"
+        );
+
+        assertEquals(1, items.size());
+        assertTrue(items.get(0).isProjectManager());
+        assertNull(items.get(0).firstName());
+    }
+
+    @Test
+    void rejectsUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> parse("email;role"));
+    }
+
+    // single pass over a 100k-employee export in both formats: every item read, every PM found
+    @Test
+    void parsesLargeSyntheticFeeds() throws Exception {
+        StringBuilder xml = new StringBuilder("<List>");
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < SYNTHETIC_EMPLOYEES; i++) {
+            String role = i % 10 == 0 ? "PROJECT_MANAGER" : "DEVELOPER";
+            xml.append("<item><id>").append(i).append("</id><email>user").append(i).append("@corp.com</email>")
+                    .append("<role>").append(role).append("</role><firstName>First").append(i)
+                    .append("</firstName><lastName>Last").append(i).append("</lastName></item>");
+            if (i > 0) json.append(',');
+            json.append("{\"id\":").append(i).append(",\"email\":\"user").append(i).append("@corp.com\",")
+                    .append("\"role\":\"").append(role).append("\",\"firstName\":\"First").append(i)
+                    .append("\",\"lastName\":\"Last").append(i).append("\"}");
+        }
+        xml.append("</List>");
+        json.append("]");
+
+        assertEquals(SYNTHETIC_EMPLOYEES / 10, countProjectManagers(xml.toString()));
+        assertEquals(SYNTHETIC_EMPLOYEES / 10, countProjectManagers(json.toString()));
+    }
+
+    private int countProjectManagers(String body) throws Exception {
+        int[] pms = {0};
+        int items = parser.parse(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), e -> {
+            if (e.isProjectManager()) pms[0]++;
+        });
+
+        assertEquals(SYNTHETIC_EMPLOYEES, items);
+        return pms[0];
+    }
+}
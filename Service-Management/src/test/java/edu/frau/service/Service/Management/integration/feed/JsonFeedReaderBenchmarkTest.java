@@ -0,0 +1,110 @@
+package edu.frau.service.Service.Management.integration.feed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// opt-in: mvn test -Dbenchmarks=true -Dtest=JsonFeedReaderBenchmarkTest
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class JsonFeedReaderBenchmarkTest {
+
+    private static final int ITEMS = 50_000;
+    private static final int WARMUP = 3;
+    private static final int RUNS = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFeedReader reader = new JsonFeedReader(objectMapper);
+
+    private interface FeedPath {
+        int itemCount(InputStream body) throws Exception;
+    }
+
+    // { success, message, meta: [...], data: [ ...ITEMS contracts... ] } like the Group-2 wrapper
+    private static byte[] syntheticFeed() {
+        StringBuilder json = new StringBuilder("{\"success\":true,\"message\":\"ok\",\"meta\":[");
+        for (int i = 0; i < ITEMS / 10; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"page\":").append(i).append(",\"tags\":[\"a\",\"b\",\"c\"]}");
+        }
+        json.append("],\"data\":[");
+        for (int i = 0; i < ITEMS; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"id\":\"C").append(i).append("\",\"contractId\":\"K-").append(i)
+                    .append("\",\"title\":\"Contract ").append(i).append("\",\"status\":\"PUBLISHED\",")
+                    .append("\"workflow\":{\"finalApproval\":{\"approvedAt\":\"2025-01-01\",\"by\":\"user")
+                    .append(i).append("\"}},\"roles\":[{\"name\":\"Developer\",\"days\":").append(i % 50)
+                    .append("}]}");
+        }
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void streamedReaderAllocatesLessThanBufferedAndTreePaths() throws Exception {
+        byte[] feed = syntheticFeed();
+
+        // before: RestTemplate.exchange(Object.class) -> whole tree, then instanceof unwrapping of "data"
+        FeedPath exchangeObject = in -> {
+            Object body = objectMapper.readValue(in, Object.class);
+            return ((List<?>) ((Map<?, ?>) body).get("data")).size();
+        };
+        // ConditionalFeed before the fix: readAllBytes + hash, then the reader over the copy
+        FeedPath bufferedReader = in -> {
+            byte[] body = in.readAllBytes();
+            MessageDigest.getInstance("SHA-256").digest(body);
+            return reader.readItems(new ByteArrayInputStream(body)).size();
+        };
+        // now: socket -> hash -> reader, no copy of the body
+        FeedPath streamedReader = in -> ConditionalFeed.readHashed(in, reader::readItems).value().size();
+
+        long[] exchange = measure("exchange(Object.class)", feed, exchangeObject);
+        long[] buffered = measure("readAllBytes + reader", feed, bufferedReader);
+        long[] streamed = measure("streamed + reader", feed, streamedReader);
+
+        // streamed saves the byte[] copy of the body; against exchange(Object.class) it saves the wrapper tree.
+        // the item maps themselves are the same in all three (served to the frontend as they are)
+        assertTrue(streamed[0] < buffered[0], "streamed " + streamed[0] + " B vs buffered " + buffered[0] + " B");
+        assertTrue(streamed[0] < exchange[0], "streamed " + streamed[0] + " B vs exchange " + exchange[0] + " B");
+    }
+
+    // -> {min allocated bytes, min millis} over RUNS after WARMUP
+    private long[] measure(String name, byte[] feed, FeedPath path) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < WARMUP; i++) assertEquals(ITEMS, path.itemCount(new ByteArrayInputStream(feed)));
+
+        long bestBytes = Long.MAX_VALUE;
+        long bestMillis = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            InputStream in = new ByteArrayInputStream(feed);
+
+            long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            int items = path.itemCount(in);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+            assertEquals(ITEMS, items);
+            bestBytes = Math.min(bestBytes, allocated);
+            bestMillis = Math.min(bestMillis, millis);
+        }
+
+        System.out.println("[JsonFeedReaderBenchmark] " + name + ": " + feed.length / 1024 + " KiB feed, "
+                + bestBytes / 1024 + " KiB allocated, " + bestMillis + " ms");
+        return new long[]{bestBytes, bestMillis};
+    }
+}
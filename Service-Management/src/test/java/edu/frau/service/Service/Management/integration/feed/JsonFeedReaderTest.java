@@ -0,0 +1,68 @@
+package edu.frau.service.Service.Management.integration.feed;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonFeedReaderTest {
+
+    private final JsonFeedReader reader = new JsonFeedReader(new ObjectMapper());
+
+    private List<Map<String, Object>> read(String json) throws Exception {
+        return reader.readItems(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void readsRawList() throws Exception {
+        List<Map<String, Object>> items = read("[{\"projectId\":\"P1\"},{\"projectId\":\"P2\"}]");
+
+        assertEquals(2, items.size());
+        assertEquals("P2", items.get(1).get("projectId"));
+    }
+
+    @Test
+    void readsDataFromWrapperAndSkipsOtherFields() throws Exception {
+        List<Map<String, Object>> items = read(
+                "{\"success\":true,\"meta\":{\"page\":1,\"tags\":[1,2]},"
+                        + "\"data\":[{\"id\":\"C1\",\"workflow\":{\"finalApproval\":{\"approvedAt\":\"2025-01-01\"}}}]}"
+        );
+
+        assertEquals(1, items.size());
+        assertTrue(items.get(0).get("workflow") instanceof Map);
+    }
+
+    @Test
+    void ignoresNonObjectEntries() throws Exception {
+        List<Map<String, Object>> items = read("[1,\"x\",null,[{\"a\":1}],{\"id\":\"ok\"}]");
+
+        assertEquals(1, items.size());
+        assertEquals("ok", items.get(0).get("id"));
+    }
+
+    @Test
+    void returnsEmptyForUnexpectedShapes() throws Exception {
+        assertTrue(read("{\"message\":\"ok\"}").isEmpty());
+        assertTrue(read("{\"data\":{\"id\":\"not-a-list\"}}").isEmpty());
+        assertTrue(read("").isEmpty());
+    }
+
+    @Test
+    void streamedHashCoversFieldsAfterData() throws Exception {
+        byte[] body = "{\"data\":[{\"id\":\"C1\"}],\"meta\":{\"page\":1}}".getBytes(StandardCharsets.UTF_8);
+
+        ConditionalFeed.Hashed<List<Map<String, Object>>> hashed =
+                ConditionalFeed.readHashed(new ByteArrayInputStream(body), reader::readItems);
+
+        assertEquals(1, hashed.value().size());
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body)), hashed.hash());
+    }
+}
@@ -0,0 +1,141 @@
+package edu.frau.service.Service.Management.integration.feed;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 32;
+
+    /**
+     * Loader that blocks until every caller has arrived, so all of them overlap with the first download.
+     */
+    private static Supplier<List<String>> slowFeed(AtomicInteger downloads, CountDownLatch allArrived) {
+        return () -> {
+            downloads.incrementAndGet();
+            try {
+                allArrived.await(5, TimeUnit.SECONDS);
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of("P1", "P2");
+        };
+    }
+
+    private static <T> List<T> runConcurrently(int callers, CountDownLatch allArrived, Supplier<T> call) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(pool.submit(() -> {
+                    allArrived.countDown();
+                    return call.get();
+                }));
+            }
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> f : futures) results.add(f.get(10, TimeUnit.SECONDS));
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentCallersShareOneDownload() throws Exception {
+        SingleFlight<List<String>> flight = new SingleFlight<>();
+        AtomicInteger downloads = new AtomicInteger();
+        CountDownLatch allArrived = new CountDownLatch(CALLERS);
+        Supplier<List<String>> feed = slowFeed(downloads, allArrived);
+
+        List<List<String>> results = runConcurrently(CALLERS, allArrived, () -> flight.execute("projects", feed));
+
+        assertEquals(1, downloads.get());
+        assertEquals(CALLERS, results.size());
+        for (List<String> r : results) assertSame(results.get(0), r);
+    }
+
+    @Test
+    void coldFeedCacheIsLoadedOnceForConcurrentReaders() throws Exception {
+        AtomicInteger downloads = new AtomicInteger();
+        CountDownLatch allArrived = new CountDownLatch(CALLERS);
+        FeedSnapshotCache<List<String>> cache = new FeedSnapshotCache<>(
+                "projects", Duration.ofMinutes(5), slowFeed(downloads, allArrived));
+
+        List<List<String>> results = runConcurrently(CALLERS, allArrived, cache::get);
+
+        assertEquals(1, downloads.get());
+        for (List<String> r : results) assertEquals(List.of("P1", "P2"), r);
+    }
+
+    @Test
+    void nextCallAfterCompletionStartsNewLoad() {
+        SingleFlight<Integer> flight = new SingleFlight<>();
+        AtomicInteger downloads = new AtomicInteger();
+
+        flight.execute("employees", downloads::incrementAndGet);
+        flight.execute("employees", downloads::incrementAndGet);
+
+        assertEquals(2, downloads.get());
+    }
+
+    @Test
+    void failureIsRethrownToCaller() {
+        SingleFlight<String> flight = new SingleFlight<>();
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> flight.execute("contracts", () -> {
+                    throw new IllegalStateException("upstream down");
+                }));
+
+        assertTrue(ex.getMessage().contains("upstream down"));
+    }
+
+    @Test
+    void errorInLoaderReleasesEveryWaiter() throws Exception {
+        SingleFlight<String> flight = new SingleFlight<>();
+        AtomicInteger downloads = new AtomicInteger();
+        CountDownLatch allArrived = new CountDownLatch(CALLERS);
+
+        Supplier<String> broken = () -> {
+            downloads.incrementAndGet();
+            try {
+                allArrived.await(5, TimeUnit.SECONDS);
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new AssertionError("parser bug");
+        };
+
+        // every caller (loader and waiters) gets the Error back instead of blocking forever
+        List<Throwable> results = runConcurrently(CALLERS, allArrived, () -> {
+            try {
+                flight.execute("employees", broken);
+                return null;
+            } catch (Throwable t) {
+                return t;
+            }
+        });
+
+        // a caller arriving after the failed load starts its own (and fails too); most of them were waiters
+        assertTrue(downloads.get() < CALLERS);
+        for (Throwable t : results) assertTrue(t instanceof AssertionError, String.valueOf(t));
+    }
+}
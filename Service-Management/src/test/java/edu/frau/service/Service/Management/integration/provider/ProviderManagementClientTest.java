@@ -0,0 +1,183 @@
+package edu.frau.service.Service.Management.integration.provider;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import edu.frau.service.Service.Management.integration.resilience.UpstreamGuards;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProviderManagementClientTest {
+
+    private static final int HISTORY = 50_000;
+    private static final int REQUESTS = 100;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    // stub provider state
+    private final List<ProviderOfferDTO> offers = new CopyOnWriteArrayList<>();
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+    private final List<Integer> served = new CopyOnWriteArrayList<>();
+    private volatile boolean honourCursor = true;
+    private volatile long delayMillis;
+
+    private HttpServer server;
+    private String baseUrl;
+
+    @BeforeEach
+    void startStubProvider() throws Exception {
+        for (int i = 1; i <= HISTORY; i++) offers.add(offer(i, "SR-" + (i % REQUESTS), "Supplier " + i));
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/offers", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            queries.add(query == null ? "" : query);
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            long since = -1;
+            if (honourCursor && query != null && query.startsWith("sinceId=")) {
+                since = Long.parseLong(query.substring("sinceId=".length()));
+            }
+
+            List<ProviderOfferDTO> out = new ArrayList<>();
+            for (ProviderOfferDTO o : offers) {
+                if (Long.parseLong(o.id) > since) out.add(o);
+            }
+            served.add(out.size());
+
+            byte[] body = mapper.writeValueAsString(out).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopStubProvider() {
+        server.stop(0);
+    }
+
+    private ProviderManagementClient client(long fullResyncMinutes) {
+        return new ProviderManagementClient(new RestTemplate(), new UpstreamGuards(5, 30, 10),
+                baseUrl, "/offers", "sinceId", fullResyncMinutes);
+    }
+
+    private static ProviderOfferDTO offer(long id, String requestId, String supplier) {
+        ProviderOfferDTO o = new ProviderOfferDTO();
+        o.id = String.valueOf(id);
+        o.requestId = requestId;
+        o.supplierName = supplier;
+        return o;
+    }
+
+    @Test
+    void onlyOffersNewerThanTheWatermarkAreDownloadedAfterTheFirstSync() {
+        ProviderManagementClient client = client(30);
+
+        assertEquals(HISTORY / REQUESTS, client.fetchOffersFor("SR-7").size());
+        assertEquals(List.of(""), queries);
+        assertEquals(List.of(HISTORY), served);
+
+        offers.add(offer(HISTORY + 1, "SR-7", "Late supplier"));
+        offers.add(offer(HISTORY + 2, "SR-8", "Other supplier"));
+
+        List<ProviderOfferDTO> sr7 = client.fetchOffersFor("SR-7");
+
+        assertEquals("sinceId=" + HISTORY, queries.get(1));
+        assertEquals(2, served.get(1));
+        assertEquals(HISTORY / REQUESTS + 1, sr7.size());
+        assertTrue(sr7.stream().anyMatch(o -> "Late supplier".equals(o.supplierName)));
+
+        // nothing new -> empty delta, history still complete
+        assertEquals(HISTORY + 2, client.fetchAllOffers().size());
+        assertEquals("sinceId=" + (HISTORY + 2), queries.get(2));
+        assertEquals(0, served.get(2));
+
+        assertEquals(1L, client.syncStats().get("fullSyncs"));
+        assertEquals(2L, client.syncStats().get("incrementalSyncs"));
+    }
+
+    @Test
+    void providerIgnoringTheCursorDoesNotDuplicateOffers() {
+        honourCursor = false;
+        ProviderManagementClient client = client(30);
+
+        client.fetchAllOffers();
+        offers.add(offer(HISTORY + 1, "SR-1", "New"));
+
+        assertEquals(HISTORY + 1, client.fetchAllOffers().size());
+        assertEquals(HISTORY / REQUESTS + 1, client.fetchOffersFor("SR-1").size());
+    }
+
+    @Test
+    void fullResyncPicksUpEditedAndDeletedOffers() {
+        ProviderManagementClient client = client(0); // every call is a full resync
+
+        client.fetchAllOffers();
+
+        offers.removeIf(o -> o.id.equals("100")); // SR-0
+        offers.set(0, offer(1, "SR-1", "Renamed"));
+
+        List<ProviderOfferDTO> all = client.fetchAllOffers();
+
+        assertEquals(List.of("", ""), queries);
+        assertEquals(HISTORY - 1, all.size());
+        assertEquals(HISTORY / REQUESTS - 1, client.fetchOffersFor("SR-0").size());
+        assertEquals("Renamed", all.get(0).supplierName);
+        assertNull(client.fetchOffersFor(List.of("SR-unknown")).get("SR-unknown"));
+    }
+
+    @Test
+    void concurrentCallersShareOneSlowSync() throws Exception {
+        ProviderManagementClient client = client(30);
+        client.fetchAllOffers();
+        offers.add(offer(HISTORY + 1, "SR-3", "Late supplier"));
+        delayMillis = 300;
+
+        int callers = 8;
+        CountDownLatch ready = new CountDownLatch(callers);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    return client.fetchOffersFor("SR-3").size();
+                }));
+            }
+            for (Future<Integer> r : results) assertEquals(HISTORY / REQUESTS + 1, r.get(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // first full sync + one shared incremental sync for all callers
+        assertEquals(2, queries.size());
+        assertEquals(1L, client.syncStats().get("incrementalSyncs"));
+    }
+}
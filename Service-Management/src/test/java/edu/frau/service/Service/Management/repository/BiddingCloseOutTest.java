@@ -0,0 +1,101 @@
+package edu.frau.service.Service.Management.repository;
+
+import edu.frau.service.Service.Management.dto.ClosedBiddingWindows;
+import edu.frau.service.Service.Management.model.RequestStatus;
+import edu.frau.service.Service.Management.model.ServiceOffer;
+import edu.frau.service.Service.Management.model.ServiceRequest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class BiddingCloseOutTest {
+
+    private static final int DUE = 3000;
+
+    @Autowired
+    private ServiceRequestRepository requestRepository;
+
+    @Autowired
+    private ServiceOfferRepository offerRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private ServiceRequest request(String number, boolean active, Instant endAt) {
+        ServiceRequest r = new ServiceRequest();
+        r.setRequestNumber(number);
+        r.setTitle(number);
+        r.setStatus(RequestStatus.APPROVED_FOR_BIDDING);
+        r.setBiddingActive(active);
+        r.setBiddingEndAt(endAt);
+        return r;
+    }
+
+    @Test
+    void thousandsOfWindowsClosingAtOnceAreClosedWithTwoUpdates() {
+        Instant now = Instant.now();
+
+        List<ServiceRequest> due = new ArrayList<>();
+        for (int i = 0; i < DUE; i++) due.add(request("SR-DUE" + i, true, now.minusSeconds(1)));
+        requestRepository.saveAll(due);
+
+        // every third due request got an offer -> stays, only deactivated
+        Set<Long> withOffers = new HashSet<>();
+        List<ServiceOffer> offers = new ArrayList<>();
+        for (int i = 0; i < DUE; i += 3) {
+            ServiceOffer o = new ServiceOffer();
+            o.setServiceRequest(due.get(i));
+            o.setSupplierName("Supplier " + i);
+            offers.add(o);
+            withOffers.add(due.get(i).getId());
+        }
+        offerRepository.saveAll(offers);
+
+        ServiceRequest notYetDue = requestRepository.save(request("SR-LATER", true, now.plusSeconds(3600)));
+        ServiceRequest closedEarlier = requestRepository.save(request("SR-CLOSED", false, now.minusSeconds(60)));
+        em.flush();
+        em.clear();
+
+        List<Long> ids = new ArrayList<>();
+        for (ServiceRequest r : due) ids.add(r.getId());
+        ids.add(notYetDue.getId());
+        ids.add(closedEarlier.getId());
+
+        ClosedBiddingWindows result = requestRepository.closeBiddingWindows(ids, now);
+        em.clear();
+
+        assertEquals(DUE, result.closedIds().size());
+        assertEquals(DUE - withOffers.size(), result.expiredIds().size());
+        assertTrue(result.expiredIds().stream().noneMatch(withOffers::contains));
+
+        for (ServiceRequest r : requestRepository.findAllById(result.closedIds())) {
+            assertFalse(r.getBiddingActive());
+            RequestStatus expected = withOffers.contains(r.getId())
+                    ? RequestStatus.APPROVED_FOR_BIDDING
+                    : RequestStatus.EXPIRED;
+            assertEquals(expected, r.getStatus());
+        }
+
+        ServiceRequest later = requestRepository.findById(notYetDue.getId()).orElseThrow();
+        assertTrue(later.getBiddingActive());
+        assertEquals(RequestStatus.APPROVED_FOR_BIDDING, later.getStatus());
+
+        ServiceRequest untouched = requestRepository.findById(closedEarlier.getId()).orElseThrow();
+        assertEquals(RequestStatus.APPROVED_FOR_BIDDING, untouched.getStatus());
+
+        // second run finds nothing left to close
+        assertTrue(requestRepository.closeBiddingWindows(ids, now).closedIds().isEmpty());
+    }
+}
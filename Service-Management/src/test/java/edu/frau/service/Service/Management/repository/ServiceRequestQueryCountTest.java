@@ -0,0 +1,104 @@
+package edu.frau.service.Service.Management.repository;
+
+import edu.frau.service.Service.Management.dto.RequestPageQuery;
+import edu.frau.service.Service.Management.dto.ServiceRequestSummary;
+import edu.frau.service.Service.Management.model.RequestStatus;
+import edu.frau.service.Service.Management.model.RequestedRole;
+import edu.frau.service.Service.Management.model.ServiceRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ServiceRequestQueryCountTest {
+
+    private static final int REQUESTS = 500;
+
+    @Autowired
+    private ServiceRequestRepository repository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        List<ServiceRequest> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            ServiceRequest r = new ServiceRequest();
+            r.setRequestNumber("SR-QC" + i);
+            r.setTitle("Request " + i);
+            r.setStatus(RequestStatus.BIDDING);
+            r.setRequiredLanguages(new ArrayList<>(List.of("German", "English")));
+            r.setMustHaveCriteria(new ArrayList<>(List.of("Java")));
+            r.setNiceToHaveCriteria(new ArrayList<>(List.of("Kotlin")));
+
+            RequestedRole role = new RequestedRole();
+            role.setRoleName("Developer");
+            role.setManDays(10);
+            r.setRoles(new ArrayList<>(List.of(role)));
+            requests.add(r);
+        }
+        repository.saveAll(requests);
+        em.flush();
+        em.clear();
+
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    @Test
+    void listingWithListAttributesUsesConstantQueryCount() {
+        long small = countListingQueries(50);
+        em.clear();
+        stats.clear();
+        long full = countListingQueries(REQUESTS);
+
+        // list attributes are JSON columns -> the page select is the only statement
+        assertEquals(1, full);
+        assertEquals(small, full);
+    }
+
+    @Test
+    void summaryListingIsASingleSelect() {
+        RequestPageQuery q = new RequestPageQuery();
+        q.limit = REQUESTS;
+
+        List<ServiceRequestSummary> rows = repository.findSummaryPage(q);
+
+        assertEquals(REQUESTS, rows.size());
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    private long countListingQueries(int limit) {
+        RequestPageQuery q = new RequestPageQuery();
+        q.limit = limit;
+
+        List<ServiceRequest> rows = repository.findPage(q);
+        assertEquals(limit, rows.size());
+
+        // what JSON serialization of the list does: touch every collection of every row
+        int children = 0;
+        for (ServiceRequest r : rows) {
+            children += r.getRequiredLanguages().size() + r.getMustHaveCriteria().size()
+                    + r.getNiceToHaveCriteria().size() + r.getRoles().size();
+        }
+        assertEquals(limit * 5, children);
+
+        return stats.getPrepareStatementCount();
+    }
+}
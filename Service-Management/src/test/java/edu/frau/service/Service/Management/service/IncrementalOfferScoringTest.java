@@ -0,0 +1,120 @@
+package edu.frau.service.Service.Management.service;
+
+import edu.frau.service.Service.Management.dto.OfferEvaluationDTO;
+import edu.frau.service.Service.Management.model.RequestStatus;
+import edu.frau.service.Service.Management.model.ServiceOffer;
+import edu.frau.service.Service.Management.model.ServiceRequest;
+import edu.frau.service.Service.Management.repository.ServiceOfferRepository;
+import edu.frau.service.Service.Management.repository.ServiceRequestRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Import(OfferEvaluationServiceImpl.class)
+class IncrementalOfferScoringTest {
+
+    @Autowired
+    private OfferEvaluationService evaluationService;
+
+    @Autowired
+    private ServiceRequestRepository requestRepository;
+
+    @Autowired
+    private ServiceOfferRepository offerRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private ServiceOffer bid(ServiceRequest req, String supplier, double totalCost, boolean mustHave, String contract) {
+        ServiceOffer o = new ServiceOffer();
+        o.setServiceRequest(req);
+        o.setSupplierName(supplier);
+        // no total stored -> scoring falls back to the daily rate (eligible offers always cost > 0)
+        o.setDailyRate(totalCost > 0 ? totalCost / 10 : 400);
+        o.setTotalCost(totalCost);
+        o.setMatchMustHaveCriteria(mustHave);
+        o.setMatchLanguageSkills(true);
+        o.setContractualRelationship(contract);
+        return offerRepository.save(o);
+    }
+
+    // bids = {supplier, totalCost, matchMustHave, contract}, scored one by one in arrival order;
+    // returns the incremental result after checking it field by field against a full recompute
+    private List<OfferEvaluationDTO> scoreIncrementallyAndCompare(String number, Object[][] bids) {
+        ServiceRequest req = new ServiceRequest();
+        req.setRequestNumber(number);
+        req.setTitle("Scoring");
+        req.setStatus(RequestStatus.BIDDING);
+        req = requestRepository.save(req);
+
+        for (Object[] b : bids) {
+            ServiceOffer offer = bid(req, (String) b[0], (double) b[1], (boolean) b[2], (String) b[3]);
+            evaluationService.evaluateNewOffers(req.getId(), List.of(offer), "test");
+        }
+        em.flush();
+        em.clear();
+
+        List<OfferEvaluationDTO> incremental = evaluationService.getEvaluationsForRequest(req.getId());
+        List<OfferEvaluationDTO> full = evaluationService.computeEvaluationsForRequest(req.getId(), "test");
+
+        assertEquals(bids.length, incremental.size());
+
+        Map<Long, OfferEvaluationDTO> byOffer = full.stream()
+                .collect(Collectors.toMap(d -> d.offerId, Function.identity()));
+
+        for (OfferEvaluationDTO inc : incremental) {
+            OfferEvaluationDTO f = byOffer.get(inc.offerId);
+            assertEquals(f.eligible, inc.eligible, inc.supplierName);
+            assertEquals(f.techScore, inc.techScore, inc.supplierName);
+            assertEquals(f.commercialScore, inc.commercialScore, inc.supplierName);
+            assertEquals(f.finalScore, inc.finalScore, inc.supplierName);
+            assertEquals(f.recommended, inc.recommended, inc.supplierName);
+        }
+
+        assertEquals(1, incremental.stream().filter(d -> d.recommended).count());
+        return incremental;
+    }
+
+    @Test
+    void incrementalScoresMatchAFullRecompute() {
+        // arrival order covers: first bid, more expensive bid, ineligible bid,
+        // cheaper bid (minCost drops -> rescale), better tech at same cost (recommended moves)
+        List<OfferEvaluationDTO> incremental = scoreIncrementallyAndCompare("SR-SCORE", new Object[][]{
+                {"A", 10_000.0, true, "subcontractor"},
+                {"B", 12_000.0, true, "employee"},
+                {"C", 5_000.0, false, "employee"},
+                {"D", 8_000.0, true, "subcontractor"},
+                {"E", 8_000.0, true, "employee"},
+        });
+
+        assertEquals("E", incremental.get(0).supplierName);
+    }
+
+    @Test
+    void zeroTotalCostBidsMatchAFullRecompute() {
+        // Z has totalCost 0 and is scored by its daily rate (400): cheapest bid, first or last to arrive
+        for (boolean zeroFirst : new boolean[]{true, false}) {
+            Object[] zero = {"Z", 0.0, true, "subcontractor"};
+            Object[][] bids = zeroFirst
+                    ? new Object[][]{zero, {"A", 10_000.0, true, "employee"}, {"B", 8_000.0, true, "subcontractor"}}
+                    : new Object[][]{{"A", 10_000.0, true, "employee"}, {"B", 8_000.0, true, "subcontractor"}, zero};
+
+            List<OfferEvaluationDTO> incremental = scoreIncrementallyAndCompare("SR-ZERO-" + zeroFirst, bids);
+
+            assertTrue(incremental.stream().allMatch(d -> d.eligible));
+            OfferEvaluationDTO z = incremental.stream().filter(d -> d.supplierName.equals("Z")).findFirst().orElseThrow();
+            assertEquals(100.0, z.commercialScore);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package edu.frau.service.Service.Management.service;
+
+import edu.frau.service.Service.Management.model.RequestStatus;
+import edu.frau.service.Service.Management.model.ServiceRequest;
+import edu.frau.service.Service.Management.repository.ServiceRequestRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// saves commit for real (many threads), so no test-managed transaction here
+@DataJpaTest
+@Import(RequestNumberGenerator.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RequestNumberGeneratorTest {
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS_PER_THREAD = 250;
+
+    @Autowired
+    private RequestNumberGenerator generator;
+
+    @Autowired
+    private ServiceRequestRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void formatsAsPaddedBase36() {
+        assertEquals("SR-000000001", RequestNumberGenerator.format(1));
+        assertEquals("SR-00000002S", RequestNumberGenerator.format(100));
+    }
+
+    @Test
+    void manyThreadsOnTwoNodesCreateRequestsWithUniqueNumbers() throws Exception {
+        // second instance = another app node sharing the same database sequence
+        RequestNumberGenerator otherNode = new RequestNumberGenerator(jdbc, dataSource);
+
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                RequestNumberGenerator node = (t % 2 == 0) ? generator : otherNode;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        ServiceRequest r = new ServiceRequest();
+                        r.setRequestNumber(node.next());
+                        r.setTitle("Concurrent");
+                        r.setStatus(RequestStatus.DRAFT);
+                        repository.save(r); // unique constraint on request_number would fail on a duplicate
+                        numbers.add(r.getRequestNumber());
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> f : futures) f.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        int total = THREADS * REQUESTS_PER_THREAD;
+        assertEquals(total, numbers.size());
+        assertEquals(total, repository.count());
+        assertTrue(numbers.stream().allMatch(n -> n.matches("SR-[0-9A-Z]{9}")));
+    }
+}
@@ -0,0 +1,85 @@
+package edu.frau.service.Service.Management.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// every node commits its own lease updates, like separate instances would
+@JdbcTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchedulerLeasesTest {
+
+    private static final int SHARDS = 8;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @AfterEach
+    void dropLeases() {
+        jdbc.execute("DROP TABLE IF EXISTS " + SchedulerLeases.TABLE);
+    }
+
+    private SchedulerLeases node() {
+        return new SchedulerLeases(jdbc, true, SHARDS, 1);
+    }
+
+    @Test
+    void shardsAreSplitBetweenNodesAndFailOverWhenANodeStops() throws Exception {
+        SchedulerLeases a = node();
+        SchedulerLeases b = node();
+
+        a.heartbeat();
+        assertEquals(SHARDS, a.ownedShards().size());
+
+        // b joins: nothing free yet, a hands back its extras on the next beat, b picks them up
+        b.heartbeat();
+        assertTrue(b.ownedShards().isEmpty());
+        a.heartbeat();
+        b.heartbeat();
+
+        assertEquals(SHARDS / 2, a.ownedShards().size());
+        assertEquals(SHARDS / 2, b.ownedShards().size());
+
+        Set<Integer> all = new HashSet<>(a.ownedShards());
+        all.addAll(b.ownedShards());
+        assertEquals(SHARDS, all.size());
+
+        // each request belongs to exactly one node
+        for (long id = 1; id <= 100; id++) {
+            assertTrue(a.ownsRequest(id) ^ b.ownsRequest(id));
+        }
+
+        // a stops heartbeating: after the lease runs out b takes everything, a no longer claims anything
+        Thread.sleep(1_100);
+        b.heartbeat();
+
+        assertEquals(SHARDS, b.ownedShards().size());
+        assertFalse(a.ownsRequest(1L));
+    }
+
+    @Test
+    void releasedShardsAreTakenOverWithoutWaitingForExpiry() {
+        SchedulerLeases a = node();
+        SchedulerLeases b = node();
+
+        a.heartbeat();
+        b.heartbeat();
+        assertTrue(b.ownedShards().isEmpty());
+
+        a.releaseAll();
+        b.heartbeat();
+
+        assertEquals(SHARDS, b.ownedShards().size());
+    }
+}
@@ -0,0 +1,125 @@
+package edu.frau.service.Service.Management.service;
+
+import edu.frau.service.Service.Management.model.RequestStatus;
+import edu.frau.service.Service.Management.model.RequestedRole;
+import edu.frau.service.Service.Management.model.ServiceRequest;
+import edu.frau.service.Service.Management.repository.ServiceRequestRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// the migration commits its own chunks and renames tables (DDL), so no surrounding test transaction
+@DataJpaTest
+@Import(ServiceRequestJsonMigration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ServiceRequestJsonMigrationTest {
+
+    @Autowired
+    private ServiceRequestJsonMigration migration;
+
+    @Autowired
+    private ServiceRequestRepository requestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private TransactionTemplate tx;
+
+    @AfterEach
+    void cleanUp() {
+        for (String table : ServiceRequestJsonMigration.LEGACY_TABLES) {
+            jdbc.execute("DROP TABLE IF EXISTS " + table);
+            jdbc.execute("DROP TABLE IF EXISTS " + table + "_legacy");
+        }
+        requestRepository.deleteAll();
+    }
+
+    // the old @ElementCollection layout, FK to service_requests included
+    private void createLegacyTables() {
+        for (String[] t : new String[][]{
+                {"service_request_required_languages", "required_languages VARCHAR(255)"},
+                {"service_request_must_have_criteria", "must_have_criteria VARCHAR(255)"},
+                {"service_request_nice_to_have_criteria", "nice_to_have_criteria VARCHAR(255)"},
+                {"service_request_roles", "domain VARCHAR(255), role_name VARCHAR(255), technology VARCHAR(255), "
+                        + "experience_level VARCHAR(255), man_days INTEGER, onsite_days INTEGER"},
+        }) {
+            jdbc.execute("CREATE TABLE " + t[0] + " (service_request_id BIGINT NOT NULL, " + t[1]
+                    + ", FOREIGN KEY (service_request_id) REFERENCES service_requests(id))");
+        }
+    }
+
+    private ServiceRequest request(String number) {
+        ServiceRequest r = new ServiceRequest();
+        r.setRequestNumber(number);
+        r.setTitle(number);
+        r.setStatus(RequestStatus.DRAFT);
+        return requestRepository.save(r);
+    }
+
+    @Test
+    void copiesLegacyRowsIntoJsonColumnsAndUnblocksDeletes() {
+        ServiceRequest legacy = request("SR-LEGACY");
+        ServiceRequest edited = request("SR-EDITED");
+        edited.setRequiredLanguages(new ArrayList<>(List.of("French")));
+        requestRepository.save(edited);
+
+        createLegacyTables();
+        long id = legacy.getId();
+        jdbc.update("INSERT INTO service_request_required_languages VALUES (?, 'German'), (?, 'English')", id, id);
+        jdbc.update("INSERT INTO service_request_required_languages VALUES (?, 'Spanish')", edited.getId());
+        jdbc.update("INSERT INTO service_request_must_have_criteria VALUES (?, 'Java')", id);
+        jdbc.update("INSERT INTO service_request_nice_to_have_criteria VALUES (?, 'Kotlin')", id);
+        jdbc.update("INSERT INTO service_request_roles VALUES (?, 'IT', 'Developer', 'Java', 'Senior', 20, 5)", id);
+
+        migration.migrate();
+
+        tx.executeWithoutResult(status -> {
+            ServiceRequest r = requestRepository.findById(id).orElseThrow();
+            assertEquals(List.of("German", "English"), r.getRequiredLanguages());
+            assertEquals(List.of("Java"), r.getMustHaveCriteria());
+            assertEquals(List.of("Kotlin"), r.getNiceToHaveCriteria());
+
+            assertEquals(1, r.getRoles().size());
+            RequestedRole role = r.getRoles().get(0);
+            assertEquals("Developer", role.getRoleName());
+            assertEquals(20, role.getManDays());
+            assertEquals(5, role.getOnsiteDays());
+
+            // written after the switch -> not overwritten
+            assertEquals(List.of("French"),
+                    requestRepository.findById(edited.getId()).orElseThrow().getRequiredLanguages());
+        });
+
+        // retired, not dropped; the FK is gone so requests can be deleted
+        Integer retired = jdbc.queryForObject("SELECT COUNT(*) FROM service_request_roles_legacy", Integer.class);
+        assertEquals(1, retired);
+
+        requestRepository.deleteById(id);
+        assertFalse(requestRepository.existsById(id));
+
+        // second run: nothing left to do
+        migration.migrate();
+    }
+
+    @Test
+    void refusesToStartWithLegacyTablesWhenDisabled() {
+        createLegacyTables();
+        ServiceRequestJsonMigration disabled = new ServiceRequestJsonMigration(jdbc, tx, requestRepository, false);
+
+        assertThrows(IllegalStateException.class, disabled::migrate);
+    }
+}